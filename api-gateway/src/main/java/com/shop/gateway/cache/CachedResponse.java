@@ -0,0 +1,45 @@
+package com.shop.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+public class CachedResponse {
+
+    private final long version;
+
+    private final HttpStatusCode status;
+
+    private final HttpHeaders headers;
+
+    private final byte[] body;
+
+    private final String etag;
+
+    public CachedResponse(long version, HttpStatusCode status, HttpHeaders headers, byte[] body, String etag) {
+        this.version = version;
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+        this.etag = etag;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public HttpStatusCode getStatus() {
+        return status;
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+}
@@ -0,0 +1,74 @@
+package com.shop.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class UserResponseCache {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.response-cache.ttl:2s}")
+    private Duration ttl;
+
+    @Value("${gateway.response-cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${gateway.response-cache.max-body-bytes:65536}")
+    private long maxBodyBytes;
+
+    private Cache<String, CachedResponse> responses;
+
+    private Cache<String, Long> versions;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        versions = Caffeine.newBuilder()
+                .expireAfterAccess(ttl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "gateway.responses");
+    }
+
+    public long getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public long version(String userId) {
+        return versions.get(userId, id -> generation.incrementAndGet());
+    }
+
+    public CachedResponse get(String userId, String key) {
+        CachedResponse response = responses.getIfPresent(key);
+        if (response == null || response.getVersion() != version(userId)) {
+            return null;
+        }
+        return response;
+    }
+
+    public void put(String userId, String key, CachedResponse response) {
+        if (response.getVersion() == version(userId)) {
+            responses.put(key, response);
+        }
+    }
+
+    public void invalidate(String userId) {
+        versions.put(userId, generation.incrementAndGet());
+    }
+}
@@ -0,0 +1,125 @@
+package com.shop.gateway.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Component
+public class UserResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
+
+    public static final String CACHE_HEADER = "X-Cache";
+
+    @Autowired
+    private UserResponseCache responseCache;
+
+    public UserResponseCacheGatewayFilterFactory() {
+        super(Object.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Object config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            String userId = ServerWebExchangeUtils.getUriTemplateVariables(exchange).get("userId");
+            HttpMethod method = exchange.getRequest().getMethod();
+            if (userId == null || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS) {
+                return chain.filter(exchange);
+            }
+            if (method != HttpMethod.GET) {
+                responseCache.invalidate(userId);
+                return chain.filter(exchange).doFinally(signal -> responseCache.invalidate(userId));
+            }
+
+            String key = cacheKey(userId, exchange.getRequest());
+            CachedResponse cached = responseCache.get(userId, key);
+            if (cached != null) {
+                return writeCached(exchange, cached);
+            }
+            long version = responseCache.version(userId);
+            ServerHttpResponseDecorator response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+                @Override
+                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                    if (!isCacheable(getStatusCode(), getHeaders())) {
+                        return super.writeWith(body);
+                    }
+                    return DataBufferUtils.join(body).flatMap(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+
+                        String etag = "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+                        getHeaders().setETag(etag);
+                        getHeaders().setCacheControl(CacheControl.noCache());
+                        HttpHeaders headers = new HttpHeaders();
+                        headers.putAll(getHeaders());
+                        responseCache.put(userId, key, new CachedResponse(version, getStatusCode(), headers, bytes, etag));
+
+                        getHeaders().set(CACHE_HEADER, "MISS");
+                        if (matches(exchange.getRequest(), etag)) {
+                            setNotModified(getDelegate());
+                            return getDelegate().setComplete();
+                        }
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+                }
+            };
+            return chain.filter(exchange.mutate().response(response).build());
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().putAll(cached.getHeaders());
+        response.getHeaders().set(CACHE_HEADER, "HIT");
+        if (matches(exchange.getRequest(), cached.getEtag())) {
+            setNotModified(response);
+            return response.setComplete();
+        }
+        response.setStatusCode(cached.getStatus());
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    private boolean isCacheable(HttpStatusCode status, HttpHeaders headers) {
+        long contentLength = headers.getContentLength();
+        return status != null && status.value() == HttpStatus.OK.value()
+                && headers.getContentType() != null
+                && MediaType.APPLICATION_JSON.isCompatibleWith(headers.getContentType())
+                && contentLength >= 0 && contentLength <= responseCache.getMaxBodyBytes();
+    }
+
+    private boolean matches(ServerHttpRequest request, String etag) {
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        return ifNoneMatch.contains(etag) || ifNoneMatch.contains("W/" + etag) || ifNoneMatch.contains("*");
+    }
+
+    private void setNotModified(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.NOT_MODIFIED);
+        response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+        response.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+    }
+
+    private String cacheKey(String userId, ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        return userId + ":" + request.getURI().getRawPath() + (query != null ? "?" + query : "");
+    }
+}
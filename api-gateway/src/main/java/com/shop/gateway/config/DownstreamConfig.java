@@ -0,0 +1,51 @@
+package com.shop.gateway.config;
+
+import com.shop.gateway.downstream.DownstreamHttpClientFactory;
+import com.shop.gateway.downstream.DownstreamPool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class DownstreamConfig {
+
+    @Value("${gateway.downstream.orders.uri:http://localhost:8081}")
+    private URI ordersUri;
+
+    @Value("${gateway.downstream.orders.max-connections:200}")
+    private int ordersMaxConnections;
+
+    @Value("${gateway.downstream.orders.pending-acquire-max-count:400}")
+    private int ordersPendingAcquireMaxCount;
+
+    @Value("${gateway.downstream.payments.uri:http://localhost:8082}")
+    private URI paymentsUri;
+
+    @Value("${gateway.downstream.payments.max-connections:100}")
+    private int paymentsMaxConnections;
+
+    @Value("${gateway.downstream.payments.pending-acquire-max-count:200}")
+    private int paymentsPendingAcquireMaxCount;
+
+    @Value("${gateway.downstream.pending-acquire-timeout:1s}")
+    private Duration pendingAcquireTimeout;
+
+    @Bean
+    public HttpClientFactory gatewayHttpClientFactory(HttpClientProperties properties, ServerProperties serverProperties,
+                                                      HttpClientSslConfigurer sslConfigurer,
+                                                      List<HttpClientCustomizer> customizers) {
+        List<DownstreamPool> pools = List.of(
+                new DownstreamPool(ordersUri, ordersMaxConnections, ordersPendingAcquireMaxCount, pendingAcquireTimeout),
+                new DownstreamPool(paymentsUri, paymentsMaxConnections, paymentsPendingAcquireMaxCount, pendingAcquireTimeout));
+        return new DownstreamHttpClientFactory(properties, serverProperties, sslConfigurer, customizers, pools);
+    }
+}
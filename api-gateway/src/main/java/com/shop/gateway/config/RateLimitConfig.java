@@ -0,0 +1,16 @@
+package com.shop.gateway.config;
+
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Mono;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public KeyResolver userIdKeyResolver() {
+        return exchange -> Mono.justOrEmpty(ServerWebExchangeUtils.getUriTemplateVariables(exchange).get("userId"));
+    }
+}
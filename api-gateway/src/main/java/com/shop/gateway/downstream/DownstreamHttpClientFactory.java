@@ -0,0 +1,61 @@
+package com.shop.gateway.downstream;
+
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+
+public class DownstreamHttpClientFactory extends HttpClientFactory {
+
+    private final List<DownstreamPool> downstreamPools;
+
+    public DownstreamHttpClientFactory(HttpClientProperties properties, ServerProperties serverProperties,
+                                       HttpClientSslConfigurer sslConfigurer, List<HttpClientCustomizer> customizers,
+                                       List<DownstreamPool> downstreamPools) {
+        super(properties, serverProperties, sslConfigurer, customizers);
+        this.downstreamPools = downstreamPools;
+    }
+
+    @Override
+    protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+        HttpClientProperties.Pool pool = properties.getPool();
+        if (pool.getType() == HttpClientProperties.Pool.PoolType.DISABLED || downstreamPools.isEmpty()) {
+            return super.buildConnectionProvider(properties);
+        }
+
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(pool.getName())
+                .maxConnections(pool.getType() == HttpClientProperties.Pool.PoolType.ELASTIC
+                        ? Integer.MAX_VALUE : pool.getMaxConnections())
+                .pendingAcquireTimeout(Duration.ofMillis(pool.getAcquireTimeout()))
+                .evictInBackground(pool.getEvictionInterval())
+                .metrics(pool.isMetrics());
+        if (pool.getMaxIdleTime() != null) {
+            builder.maxIdleTime(pool.getMaxIdleTime());
+        }
+        if (pool.getMaxLifeTime() != null) {
+            builder.maxLifeTime(pool.getMaxLifeTime());
+        }
+
+        for (DownstreamPool downstream : downstreamPools) {
+            builder.forRemoteHost(downstream.remoteAddress(), spec -> {
+                spec.maxConnections(downstream.getMaxConnections())
+                        .pendingAcquireMaxCount(downstream.getPendingAcquireMaxCount())
+                        .pendingAcquireTimeout(downstream.getPendingAcquireTimeout())
+                        .evictInBackground(pool.getEvictionInterval())
+                        .metrics(pool.isMetrics());
+                if (pool.getMaxIdleTime() != null) {
+                    spec.maxIdleTime(pool.getMaxIdleTime());
+                }
+                if (pool.getMaxLifeTime() != null) {
+                    spec.maxLifeTime(pool.getMaxLifeTime());
+                }
+            });
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.shop.gateway.downstream;
+
+import reactor.netty.transport.AddressUtils;
+
+import java.net.SocketAddress;
+import java.net.URI;
+import java.time.Duration;
+
+public class DownstreamPool {
+
+    private final URI uri;
+
+    private final int maxConnections;
+
+    private final int pendingAcquireMaxCount;
+
+    private final Duration pendingAcquireTimeout;
+
+    public DownstreamPool(URI uri, int maxConnections, int pendingAcquireMaxCount, Duration pendingAcquireTimeout) {
+        this.uri = uri;
+        this.maxConnections = maxConnections;
+        this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        this.pendingAcquireTimeout = pendingAcquireTimeout;
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public int getPendingAcquireMaxCount() {
+        return pendingAcquireMaxCount;
+    }
+
+    public Duration getPendingAcquireTimeout() {
+        return pendingAcquireTimeout;
+    }
+
+    public SocketAddress remoteAddress() {
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return AddressUtils.createUnresolved(uri.getHost(), port);
+    }
+}
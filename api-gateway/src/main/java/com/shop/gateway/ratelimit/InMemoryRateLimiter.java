@@ -0,0 +1,97 @@
+package com.shop.gateway.ratelimit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@Component
+public class InMemoryRateLimiter extends AbstractRateLimiter<InMemoryRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "in-memory-rate-limiter";
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+    @Autowired
+    private TokenBucketStore tokenBucketStore;
+
+    @Value("${gateway.rate-limit.replenish-rate:10}")
+    private int defaultReplenishRate;
+
+    @Value("${gateway.rate-limit.burst-capacity:20}")
+    private int defaultBurstCapacity;
+
+    private Config defaultConfig;
+
+    public InMemoryRateLimiter(ConfigurationService configurationService) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+    }
+
+    @PostConstruct
+    public void init() {
+        defaultConfig = new Config()
+                .setReplenishRate(defaultReplenishRate)
+                .setBurstCapacity(defaultBurstCapacity);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        long remaining = tokenBucketStore.tryConsume(
+                routeId + ":" + id, config.getReplenishRate(), config.getBurstCapacity(), config.getRequestedTokens());
+        Map<String, String> headers = Map.of(
+                REMAINING_HEADER, String.valueOf(Math.max(remaining, 0)),
+                REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()),
+                BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()));
+        return Mono.just(new Response(remaining >= 0, headers));
+    }
+
+    @Validated
+    public static class Config {
+
+        @Min(1)
+        private int replenishRate = 10;
+
+        @Min(1)
+        private int burstCapacity = 20;
+
+        @Min(1)
+        private int requestedTokens = 1;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public Config setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+            return this;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public Config setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+            return this;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public Config setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+    }
+}
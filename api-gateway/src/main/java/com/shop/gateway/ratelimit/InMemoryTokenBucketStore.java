@@ -0,0 +1,83 @@
+package com.shop.gateway.ratelimit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class InMemoryTokenBucketStore implements TokenBucketStore {
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public long tryConsume(String key, int replenishRate, int burstCapacity, int requestedTokens) {
+        while (true) {
+            long now = System.nanoTime();
+            Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(burstCapacity, now));
+            long remaining = bucket.tryConsume(replenishRate, burstCapacity, requestedTokens, now);
+            if (remaining != Bucket.RETIRED) {
+                return remaining;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.rate-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        for (String key : buckets.keySet()) {
+            buckets.computeIfPresent(key, (k, bucket) -> bucket.retireIfFull(now) ? null : bucket);
+        }
+    }
+
+    private static final class Bucket {
+
+        static final long RETIRED = Long.MIN_VALUE;
+
+        private double tokens;
+
+        private long refilledAt;
+
+        private double capacity;
+
+        private double ratePerNano;
+
+        private boolean retired;
+
+        Bucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.capacity = capacity;
+            this.refilledAt = now;
+        }
+
+        synchronized long tryConsume(int replenishRate, int burstCapacity, int requestedTokens, long now) {
+            if (retired) {
+                return RETIRED;
+            }
+            capacity = burstCapacity;
+            ratePerNano = (double) replenishRate / TimeUnit.SECONDS.toNanos(1);
+            refill(now);
+            if (tokens < requestedTokens) {
+                return -1;
+            }
+            tokens -= requestedTokens;
+            return (long) tokens;
+        }
+
+        synchronized boolean retireIfFull(long now) {
+            refill(now);
+            retired = tokens >= capacity;
+            return retired;
+        }
+
+        private void refill(long now) {
+            if (now - refilledAt <= 0) {
+                return;
+            }
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * ratePerNano);
+            refilledAt = now;
+        }
+    }
+}
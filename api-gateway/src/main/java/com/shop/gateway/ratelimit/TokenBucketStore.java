@@ -0,0 +1,6 @@
+package com.shop.gateway.ratelimit;
+
+public interface TokenBucketStore {
+
+    long tryConsume(String key, int replenishRate, int burstCapacity, int requestedTokens);
+}
@@ -0,0 +1,27 @@
+package com.shop.benchmarks;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+
+public final class BenchmarkCodecs {
+
+    private BenchmarkCodecs() {
+    }
+
+    public static com.shop.orders.service.PaymentEventCodec orders(String format) {
+        return new com.shop.orders.service.PaymentEventCodec(BenchmarkObjectMapper.create(),
+                com.shop.orders.service.PaymentEventCodec.Format.valueOf(format));
+    }
+
+    public static com.shop.payments.service.PaymentEventCodec payments(String format) {
+        return new com.shop.payments.service.PaymentEventCodec(BenchmarkObjectMapper.create(),
+                com.shop.payments.service.PaymentEventCodec.Format.valueOf(format));
+    }
+
+    public static void inject(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,18 @@
+package com.shop.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+public final class BenchmarkObjectMapper {
+
+    private BenchmarkObjectMapper() {
+    }
+
+    public static ObjectMapper create() {
+        return JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
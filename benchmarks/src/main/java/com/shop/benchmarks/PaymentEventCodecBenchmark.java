@@ -0,0 +1,82 @@
+package com.shop.benchmarks;
+
+import com.shop.orders.model.OrderStatus;
+import com.shop.payments.dto.PaymentStatusEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentEventCodecBenchmark {
+
+    @Param({"JSON", "BINARY"})
+    private String format;
+
+    private com.shop.orders.service.PaymentEventCodec ordersCodec;
+
+    private com.shop.payments.service.PaymentEventCodec paymentsCodec;
+
+    private com.shop.orders.dto.PaymentRequestEvent paymentRequest;
+
+    private byte[] paymentRequestBytes;
+
+    private PaymentStatusEvent paymentStatus;
+
+    private byte[] paymentStatusBytes;
+
+    @Setup
+    public void setUp() {
+        ordersCodec = BenchmarkCodecs.orders(format);
+        paymentsCodec = BenchmarkCodecs.payments(format);
+        paymentRequest = new com.shop.orders.dto.PaymentRequestEvent(123456L, 42L, new BigDecimal("1999.90"));
+        paymentRequestBytes = ordersCodec.encode(paymentRequest);
+        paymentStatus = new PaymentStatusEvent(123456L, com.shop.payments.model.OrderStatus.FINISHED, "Payment successful.");
+        paymentStatusBytes = paymentsCodec.encode(paymentStatus);
+    }
+
+    @Benchmark
+    public byte[] writePaymentRequest() {
+        return ordersCodec.encode(paymentRequest);
+    }
+
+    @Benchmark
+    public com.shop.payments.dto.PaymentRequestEvent readPaymentRequest() {
+        return paymentsCodec.decodeRequest(paymentRequestBytes);
+    }
+
+    @Benchmark
+    public com.shop.payments.dto.PaymentRequestEvent paymentRequestRoundTrip() {
+        return paymentsCodec.decodeRequest(ordersCodec.encode(paymentRequest));
+    }
+
+    @Benchmark
+    public byte[] writePaymentStatus() {
+        return paymentsCodec.encode(paymentStatus);
+    }
+
+    @Benchmark
+    public com.shop.orders.dto.PaymentStatusEvent readPaymentStatus() {
+        return ordersCodec.decodeStatus(paymentStatusBytes);
+    }
+
+    @Benchmark
+    public OrderStatus paymentStatusRoundTrip() {
+        return ordersCodec.decodeStatus(paymentsCodec.encode(paymentStatus)).getStatus();
+    }
+}
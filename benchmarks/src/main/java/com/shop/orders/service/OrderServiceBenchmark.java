@@ -0,0 +1,57 @@
+package com.shop.orders.service;
+
+import com.shop.benchmarks.BenchmarkCodecs;
+import com.shop.orders.dto.OrderResponse;
+import com.shop.orders.model.Order;
+import com.shop.orders.model.OrderStatus;
+import com.shop.orders.model.OutboxEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    @Param({"JSON", "BINARY"})
+    private String format;
+
+    private OrderService orderService;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        orderService = new OrderService();
+        BenchmarkCodecs.inject(orderService, "paymentEventCodec", BenchmarkCodecs.orders(format));
+
+        LocalDateTime now = LocalDateTime.now();
+        order = new Order(123456L, 42L, new BigDecimal("1999.90"), OrderStatus.NEW, now, now);
+    }
+
+    @Benchmark
+    public OrderResponse convertToResponse() {
+        return orderService.convertToResponse(order);
+    }
+
+    @Benchmark
+    public OutboxEvent buildOutboxEvent() {
+        return orderService.buildOutboxEvent(order);
+    }
+}
@@ -0,0 +1,67 @@
+package com.shop.payments.service;
+
+import com.shop.payments.dto.PaymentRequestEvent;
+import com.shop.payments.dto.PaymentStatusEvent;
+import com.shop.payments.model.Account;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentSettlementBenchmark {
+
+    private Account account;
+
+    private Map<Long, BigDecimal> balancesByAccountId;
+
+    private PaymentRequestEvent affordable;
+
+    private PaymentRequestEvent unaffordable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        account = new Account(42L);
+        account.setId(7L);
+        balancesByAccountId = new HashMap<>();
+        affordable = new PaymentRequestEvent(123456L, 42L, new BigDecimal("0.01"));
+        unaffordable = new PaymentRequestEvent(123457L, 42L, new BigDecimal("10000000000000000.00"));
+    }
+
+    @Setup(Level.Iteration)
+    public void resetBalance() {
+        balancesByAccountId.put(account.getId(), new BigDecimal("1000000000000000.00"));
+    }
+
+    @Benchmark
+    public PaymentStatusEvent debit() {
+        return PaymentRequestBatchListener.settle(affordable, account, balancesByAccountId);
+    }
+
+    @Benchmark
+    public PaymentStatusEvent insufficientFunds() {
+        return PaymentRequestBatchListener.settle(unaffordable, account, balancesByAccountId);
+    }
+
+    @Benchmark
+    public PaymentStatusEvent accountNotFound() {
+        return PaymentRequestBatchListener.settle(affordable, null, balancesByAccountId);
+    }
+}
@@ -17,14 +17,21 @@ CREATE TABLE outbox (
     aggregate_id VARCHAR(255) NOT NULL,
     aggregate_type VARCHAR(255) NOT NULL,
     event_type VARCHAR(255) NOT NULL,
-    event_data TEXT NOT NULL,
+    message_key VARCHAR(255),
+    event_data BYTEA NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    processed BOOLEAN DEFAULT FALSE
+    processed BOOLEAN DEFAULT FALSE,
+    locked_by VARCHAR(255),
+    locked_until TIMESTAMP,
+    trace_parent VARCHAR(55)
 );
 
-CREATE INDEX idx_orders_user_id ON orders(user_id);
+CREATE INDEX idx_orders_user_created_id ON orders(user_id, created_at DESC, id DESC);
 CREATE INDEX idx_orders_status ON orders(status);
-CREATE INDEX idx_outbox_processed ON outbox(processed);
+CREATE INDEX idx_outbox_unprocessed ON outbox(id) WHERE processed = false;
+ALTER TABLE outbox SET (autovacuum_vacuum_scale_factor = 0.01, autovacuum_vacuum_insert_scale_factor = 0.01);
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
+ALTER SEQUENCE outbox_id_seq INCREMENT BY 50;
 
 \c payments_db;
 
@@ -44,6 +51,7 @@ CREATE TABLE transactions (
     transaction_type VARCHAR(50) NOT NULL,
     order_id BIGINT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    applied BOOLEAN NOT NULL DEFAULT FALSE,
     FOREIGN KEY (account_id) REFERENCES accounts(id)
 );
 
@@ -53,7 +61,7 @@ CREATE TABLE inbox (
     aggregate_id VARCHAR(255) NOT NULL,
     aggregate_type VARCHAR(255) NOT NULL,
     event_type VARCHAR(255) NOT NULL,
-    event_data TEXT NOT NULL,
+    event_data BYTEA NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     processed BOOLEAN DEFAULT FALSE
 );
@@ -63,12 +71,19 @@ CREATE TABLE outbox (
     aggregate_id VARCHAR(255) NOT NULL,
     aggregate_type VARCHAR(255) NOT NULL,
     event_type VARCHAR(255) NOT NULL,
-    event_data TEXT NOT NULL,
+    message_key VARCHAR(255),
+    event_data BYTEA NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    processed BOOLEAN DEFAULT FALSE
+    processed BOOLEAN DEFAULT FALSE,
+    locked_by VARCHAR(255),
+    locked_until TIMESTAMP,
+    trace_parent VARCHAR(55)
 );
 
 CREATE INDEX idx_accounts_user_id ON accounts(user_id);
 CREATE INDEX idx_transactions_account_id ON transactions(account_id);
-CREATE INDEX idx_inbox_processed ON inbox(processed);
-CREATE INDEX idx_outbox_processed ON outbox(processed); 
\ No newline at end of file
+CREATE INDEX idx_transactions_unapplied ON transactions(account_id) WHERE applied = false;
+CREATE INDEX idx_outbox_unprocessed ON outbox(id) WHERE processed = false;
+ALTER TABLE outbox SET (autovacuum_vacuum_scale_factor = 0.01, autovacuum_vacuum_insert_scale_factor = 0.01);
+ALTER SEQUENCE accounts_id_seq INCREMENT BY 50;
+ALTER SEQUENCE outbox_id_seq INCREMENT BY 50;
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.shop.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class EmbeddedInfrastructure implements AutoCloseable {
+
+    private static final String ADMIN_DATABASE = "postgres";
+
+    private static final Pattern CREATE_DATABASE = Pattern.compile("(?i)CREATE\\s+DATABASE\\s+(\\w+)");
+
+    private final EmbeddedKafkaBroker kafka;
+
+    private final EmbeddedPostgres postgres;
+
+    private final String jdbcBaseUrl;
+
+    private final String username;
+
+    private final String password;
+
+    private EmbeddedInfrastructure(EmbeddedKafkaBroker kafka, EmbeddedPostgres postgres,
+                                   String jdbcBaseUrl, String username, String password) {
+        this.kafka = kafka;
+        this.postgres = postgres;
+        this.jdbcBaseUrl = jdbcBaseUrl;
+        this.username = username;
+        this.password = password;
+    }
+
+    public static EmbeddedInfrastructure start(String postgresUrl, String username, String password, Path schema)
+            throws IOException, SQLException {
+        EmbeddedKafkaBroker kafka = new EmbeddedKafkaKraftBroker(1, 1);
+        kafka.afterPropertiesSet();
+        System.out.println("Embedded Kafka started at " + kafka.getBrokersAsString());
+
+        EmbeddedPostgres postgres = null;
+        String jdbcBaseUrl = postgresUrl;
+        if (jdbcBaseUrl == null) {
+            postgres = EmbeddedPostgres.builder().start();
+            jdbcBaseUrl = "jdbc:postgresql://localhost:" + postgres.getPort() + "/";
+            username = "postgres";
+            password = "";
+            System.out.println("Embedded Postgres started at " + jdbcBaseUrl);
+        } else if (!jdbcBaseUrl.endsWith("/")) {
+            jdbcBaseUrl = jdbcBaseUrl + "/";
+        }
+
+        EmbeddedInfrastructure infrastructure = new EmbeddedInfrastructure(kafka, postgres, jdbcBaseUrl, username, password);
+        try {
+            infrastructure.loadSchema(schema);
+        } catch (IOException | SQLException | RuntimeException e) {
+            infrastructure.close();
+            throw e;
+        }
+        return infrastructure;
+    }
+
+    public String bootstrapServers() {
+        return kafka.getBrokersAsString();
+    }
+
+    public String jdbcUrl(String database) {
+        return jdbcBaseUrl + database;
+    }
+
+    public String username() {
+        return username;
+    }
+
+    public String password() {
+        return password;
+    }
+
+    private void loadSchema(Path schema) throws IOException, SQLException {
+        Map<String, StringBuilder> sections = new LinkedHashMap<>();
+        String database = ADMIN_DATABASE;
+        for (String line : Files.readAllLines(schema)) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith("\\c ")) {
+                database = trimmed.substring(3).replace(";", "").trim();
+                continue;
+            }
+            sections.computeIfAbsent(database, name -> new StringBuilder()).append(line).append('\n');
+        }
+
+        Set<String> existing = new HashSet<>();
+        StringBuilder admin = sections.remove(ADMIN_DATABASE);
+        if (admin != null) {
+            try (Connection connection = DriverManager.getConnection(jdbcUrl(ADMIN_DATABASE), username, password)) {
+                Matcher matcher = CREATE_DATABASE.matcher(admin);
+                while (matcher.find()) {
+                    String name = matcher.group(1);
+                    if (databaseExists(connection, name)) {
+                        existing.add(name);
+                        System.out.println("Database " + name + " already exists, keeping its schema");
+                    } else {
+                        try (Statement statement = connection.createStatement()) {
+                            statement.execute("CREATE DATABASE " + name);
+                        }
+                    }
+                }
+            }
+        }
+
+        for (Map.Entry<String, StringBuilder> section : sections.entrySet()) {
+            if (existing.contains(section.getKey())) {
+                continue;
+            }
+            try (Connection connection = DriverManager.getConnection(jdbcUrl(section.getKey()), username, password);
+                 Statement statement = connection.createStatement()) {
+                statement.execute(section.getValue().toString());
+            }
+        }
+    }
+
+    private static boolean databaseExists(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT 1 FROM pg_database WHERE datname = ?")) {
+            statement.setString(1, name);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (postgres != null) {
+                postgres.close();
+            }
+        } finally {
+            kafka.destroy();
+        }
+    }
+}
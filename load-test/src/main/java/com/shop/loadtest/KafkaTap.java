@@ -0,0 +1,153 @@
+package com.shop.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.payments.dto.PaymentStatusEvent;
+import com.shop.payments.service.PaymentEventCodec;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class KafkaTap implements AutoCloseable {
+
+    public static final String PAYMENT_REQUEST_TOPIC = "payment.request";
+    public static final String PAYMENT_STATUS_TOPIC = "payment.status";
+
+    private final KafkaConsumer<String, byte[]> consumer;
+
+    private final PaymentEventCodec codec;
+
+    private final Map<Long, Long> requestTimestamps = new ConcurrentHashMap<>();
+
+    private final Map<Long, Long> statusTimestamps = new ConcurrentHashMap<>();
+
+    private final Map<Long, String> statuses = new ConcurrentHashMap<>();
+
+    private final Map<String, LongAdder> payloadBytes = new ConcurrentHashMap<>();
+
+    private final Map<String, LongAdder> payloadCounts = new ConcurrentHashMap<>();
+
+    private final CountDownLatch assigned = new CountDownLatch(1);
+
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    private KafkaTap(String bootstrapServers, ObjectMapper objectMapper) {
+        this.codec = new PaymentEventCodec(objectMapper, PaymentEventCodec.Format.JSON);
+        this.consumer = new KafkaConsumer<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ConsumerConfig.GROUP_ID_CONFIG, "load-test-tap-" + UUID.randomUUID(),
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest",
+                ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false,
+                ConsumerConfig.METADATA_MAX_AGE_CONFIG, 1000
+        ), new StringDeserializer(), new ByteArrayDeserializer());
+        this.thread = new Thread(this::run, "kafka-tap");
+    }
+
+    public static KafkaTap start(String bootstrapServers, ObjectMapper objectMapper) throws InterruptedException {
+        KafkaTap tap = new KafkaTap(bootstrapServers, objectMapper);
+        tap.thread.start();
+        if (!tap.assigned.await(30, TimeUnit.SECONDS)) {
+            tap.close();
+            throw new IllegalStateException("Kafka tap was not assigned any partitions within 30s");
+        }
+        return tap;
+    }
+
+    public Long requestTimestamp(long orderId) {
+        return requestTimestamps.get(orderId);
+    }
+
+    public Long statusTimestamp(long orderId) {
+        return statusTimestamps.get(orderId);
+    }
+
+    public String status(long orderId) {
+        return statuses.get(orderId);
+    }
+
+    public Map<String, Double> averagePayloadBytes() {
+        Map<String, Double> averages = new LinkedHashMap<>();
+        for (String topic : List.of(PAYMENT_REQUEST_TOPIC, PAYMENT_STATUS_TOPIC)) {
+            long count = payloadCounts.getOrDefault(topic, new LongAdder()).sum();
+            if (count > 0) {
+                averages.put(topic, (double) payloadBytes.get(topic).sum() / count);
+            }
+        }
+        return averages;
+    }
+
+    public boolean hasSeen(Collection<Long> orderIds) {
+        for (Long orderId : orderIds) {
+            if (!requestTimestamps.containsKey(orderId) || !statusTimestamps.containsKey(orderId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void run() {
+        try {
+            consumer.subscribe(List.of(PAYMENT_REQUEST_TOPIC, PAYMENT_STATUS_TOPIC), new ConsumerRebalanceListener() {
+                @Override
+                public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                }
+
+                @Override
+                public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+                    partitions.forEach(consumer::position);
+                    if (!partitions.isEmpty()) {
+                        assigned.countDown();
+                    }
+                }
+            });
+            while (running) {
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(Duration.ofMillis(100))) {
+                    record(record);
+                }
+            }
+        } finally {
+            consumer.close();
+        }
+    }
+
+    private void record(ConsumerRecord<String, byte[]> record) {
+        payloadBytes.computeIfAbsent(record.topic(), topic -> new LongAdder()).add(record.value().length);
+        payloadCounts.computeIfAbsent(record.topic(), topic -> new LongAdder()).increment();
+        try {
+            if (PAYMENT_REQUEST_TOPIC.equals(record.topic())) {
+                requestTimestamps.putIfAbsent(codec.decodeRequest(record.value()).getOrderId(), record.timestamp());
+                return;
+            }
+            PaymentStatusEvent event = codec.decodeStatus(record.value());
+            if (event.getOrderId() == null) {
+                return;
+            }
+            statusTimestamps.putIfAbsent(event.getOrderId(), record.timestamp());
+            statuses.putIfAbsent(event.getOrderId(), event.getStatus().name());
+        } catch (Exception e) {
+            System.err.println("Kafka tap could not read " + record.topic() + " record: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        thread.join(10000);
+    }
+}
@@ -0,0 +1,69 @@
+package com.shop.loadtest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class LoadTestMain {
+
+    private static final long USERS_PER_SCENARIO = 1_000_000L;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        ObjectMapper serviceMapper = JsonMapper.builder().findAndAddModules().build();
+
+        List<Scenario> scenarios = Scenario.readAll(Path.of(options.getOrDefault("scenarios", "scenarios.jsonl")), objectMapper);
+        Path ordersJar = Path.of(options.getOrDefault("orders-jar", "../orders-service/target/orders-service-1.0.0-exec.jar"));
+        Path paymentsJar = Path.of(options.getOrDefault("payments-jar", "../payments-service/target/payments-service-1.0.0-exec.jar"));
+        Path schema = Path.of(options.getOrDefault("schema", "../init-db.sql"));
+        Path workDir = Path.of(options.getOrDefault("work-dir", "target/load-test"));
+        Path results = Path.of(options.getOrDefault("output", workDir.resolve("results.jsonl").toString()));
+        for (Path required : List.of(ordersJar, paymentsJar, schema)) {
+            if (!Files.isRegularFile(required)) {
+                throw new IllegalArgumentException(required + " not found; build the services with mvn package first");
+            }
+        }
+        Files.createDirectories(workDir);
+
+        try (EmbeddedInfrastructure infrastructure = EmbeddedInfrastructure.start(
+                options.get("postgres-url"),
+                options.getOrDefault("postgres-user", "postgres"),
+                options.getOrDefault("postgres-password", "password"),
+                schema)) {
+            ScenarioRunner runner = new ScenarioRunner(infrastructure, ordersJar, paymentsJar, workDir, serviceMapper);
+            long firstUserId = System.currentTimeMillis() / 1000 * USERS_PER_SCENARIO;
+            for (Scenario scenario : scenarios) {
+                ScenarioReport report = runner.run(scenario, firstUserId);
+                firstUserId += USERS_PER_SCENARIO;
+                report.print(System.out);
+                Files.writeString(results, objectMapper.writeValueAsString(report) + System.lineSeparator(),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        }
+        System.out.println("\nResults appended to " + results);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value pairs, got: " + String.join(" ", args));
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
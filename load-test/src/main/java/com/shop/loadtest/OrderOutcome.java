@@ -0,0 +1,24 @@
+package com.shop.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OrderOutcome {
+    private Long orderId;
+    private String status;
+    private long sentAtMillis;
+    private long latencyMicros;
+    private Long createdAtMillis;
+    private Long updatedAtMillis;
+    private String error;
+
+    public static OrderOutcome failed(long sentAtMillis, long latencyMicros, String error) {
+        return new OrderOutcome(null, null, sentAtMillis, latencyMicros, null, null, error);
+    }
+
+    public boolean isSettled() {
+        return "FINISHED".equals(status) || "CANCELLED".equals(status);
+    }
+}
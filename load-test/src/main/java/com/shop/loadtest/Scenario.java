@@ -0,0 +1,46 @@
+package com.shop.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class Scenario {
+    private String scenarioId;
+    private String title;
+    private int users = 100;
+    private BigDecimal initialBalance = new BigDecimal("100000.00");
+    private int orders = 5000;
+    private int concurrency = 32;
+    private BigDecimal amount = new BigDecimal("10.00");
+    private long waitMs = 30000;
+    private int batchSize = 1;
+    private Map<String, String> serviceEnv = new LinkedHashMap<>();
+
+    public static List<Scenario> readAll(Path file, ObjectMapper objectMapper) throws IOException {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            Scenario scenario = objectMapper.readValue(line, Scenario.class);
+            if (scenario.getScenarioId() == null) {
+                throw new IllegalArgumentException("Scenario without scenario_id in " + file + ": " + line);
+            }
+            scenarios.add(scenario);
+        }
+        return scenarios;
+    }
+}
@@ -0,0 +1,92 @@
+package com.shop.loadtest;
+
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Getter
+public class ScenarioReport {
+
+    private static final long MAX_TRACKED_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final String scenarioId;
+    private final int orders;
+    private final long finished;
+    private final long cancelled;
+    private final long unsettled;
+    private final long failed;
+    private final double durationSeconds;
+    private final double settledPerSecond;
+    private final Map<String, StageStats> stages = new LinkedHashMap<>();
+    private final Map<String, Double> averagePayloadBytes;
+
+    public ScenarioReport(Scenario scenario, List<OrderOutcome> outcomes, KafkaTap tap, long durationNanos) {
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        for (String stage : List.of("order.create", "outbox.relay", "payment.process", "order.status.update", "end_to_end")) {
+            histograms.put(stage, new Histogram(MAX_TRACKED_MICROS, 3));
+        }
+
+        long finished = 0;
+        long cancelled = 0;
+        long unsettled = 0;
+        long failed = 0;
+        for (OrderOutcome outcome : outcomes) {
+            if (outcome.getError() != null) {
+                failed++;
+                continue;
+            }
+            record(histograms.get("order.create"), outcome.getSentAtMillis(), outcome.getCreatedAtMillis());
+            if (!outcome.isSettled()) {
+                unsettled++;
+                continue;
+            }
+            if ("FINISHED".equals(outcome.getStatus())) {
+                finished++;
+            } else {
+                cancelled++;
+            }
+
+            Long requestedAt = tap.requestTimestamp(outcome.getOrderId());
+            Long settledAt = tap.statusTimestamp(outcome.getOrderId());
+            record(histograms.get("outbox.relay"), outcome.getCreatedAtMillis(), requestedAt);
+            record(histograms.get("payment.process"), requestedAt, settledAt);
+            record(histograms.get("order.status.update"), settledAt, outcome.getUpdatedAtMillis());
+            histograms.get("end_to_end").recordValue(Math.min(outcome.getLatencyMicros(), MAX_TRACKED_MICROS));
+        }
+
+        this.scenarioId = scenario.getScenarioId();
+        this.orders = outcomes.size();
+        this.finished = finished;
+        this.cancelled = cancelled;
+        this.unsettled = unsettled;
+        this.failed = failed;
+        this.durationSeconds = durationNanos / 1e9;
+        this.settledPerSecond = (finished + cancelled) / durationSeconds;
+        histograms.forEach((stage, histogram) -> stages.put(stage, StageStats.of(histogram)));
+        this.averagePayloadBytes = tap.averagePayloadBytes();
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%nScenario %s: %d orders in %.1f s, %.1f settled orders/s%n",
+                scenarioId, orders, durationSeconds, settledPerSecond);
+        out.printf("  finished %d, cancelled %d, still NEW after wait %d, failed requests %d%n",
+                finished, cancelled, unsettled, failed);
+        out.printf("  %-20s %8s %10s %10s %10s %10s %10s%n", "stage (ms)", "count", "p50", "p90", "p99", "p99.9", "max");
+        stages.forEach((stage, stats) -> out.printf("  %-20s %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                stage, stats.getCount(), stats.getP50Ms(), stats.getP90Ms(), stats.getP99Ms(), stats.getP999Ms(), stats.getMaxMs()));
+        averagePayloadBytes.forEach((topic, bytes) -> out.printf("  %-20s %8.1f bytes per record%n", topic, bytes));
+    }
+
+    private static void record(Histogram histogram, Long fromMillis, Long toMillis) {
+        if (fromMillis == null || toMillis == null) {
+            return;
+        }
+        long micros = TimeUnit.MILLISECONDS.toMicros(Math.max(0, toMillis - fromMillis));
+        histogram.recordValue(Math.min(micros, MAX_TRACKED_MICROS));
+    }
+}
@@ -0,0 +1,283 @@
+package com.shop.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ScenarioRunner {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private static final Duration TAP_CATCH_UP_TIMEOUT = Duration.ofSeconds(10);
+
+    private final EmbeddedInfrastructure infrastructure;
+
+    private final Path ordersJar;
+
+    private final Path paymentsJar;
+
+    private final Path workDir;
+
+    private final ObjectMapper objectMapper;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public ScenarioRunner(EmbeddedInfrastructure infrastructure, Path ordersJar, Path paymentsJar,
+                          Path workDir, ObjectMapper objectMapper) {
+        this.infrastructure = infrastructure;
+        this.ordersJar = ordersJar;
+        this.paymentsJar = paymentsJar;
+        this.workDir = workDir;
+        this.objectMapper = objectMapper;
+    }
+
+    public ScenarioReport run(Scenario scenario, long firstUserId) throws Exception {
+        System.out.println("\n=== " + scenario.getScenarioId() + (scenario.getTitle() != null ? ": " + scenario.getTitle() : ""));
+        try (ServiceProcess payments = ServiceProcess.start(scenario.getScenarioId() + "-payments-service",
+                     paymentsJar, serviceEnv(scenario, "payments_db"), workDir);
+             ServiceProcess orders = ServiceProcess.start(scenario.getScenarioId() + "-orders-service",
+                     ordersJar, serviceEnv(scenario, "orders_db"), workDir)) {
+            payments.awaitHealthy(http, STARTUP_TIMEOUT);
+            orders.awaitHealthy(http, STARTUP_TIMEOUT);
+
+            ExecutorService workers = Executors.newFixedThreadPool(scenario.getConcurrency());
+            try (KafkaTap tap = KafkaTap.start(infrastructure.bootstrapServers(), objectMapper)) {
+                List<Long> userIds = prepareAccounts(payments, scenario, firstUserId, workers);
+
+                long started = System.nanoTime();
+                List<OrderOutcome> outcomes = scenario.getBatchSize() > 1
+                        ? placeOrderBatches(orders, scenario, userIds, workers, tap)
+                        : placeOrders(orders, scenario, userIds, workers);
+                long duration = System.nanoTime() - started;
+
+                awaitTap(tap, outcomes);
+                return new ScenarioReport(scenario, outcomes, tap, duration);
+            } finally {
+                workers.shutdownNow();
+            }
+        }
+    }
+
+    private Map<String, String> serviceEnv(Scenario scenario, String database) {
+        Map<String, String> env = new HashMap<>();
+        env.put("SPRING_DATASOURCE_URL", infrastructure.jdbcUrl(database));
+        env.put("SPRING_DATASOURCE_USERNAME", infrastructure.username());
+        env.put("SPRING_DATASOURCE_PASSWORD", infrastructure.password());
+        env.put("SPRING_KAFKA_BOOTSTRAP_SERVERS", infrastructure.bootstrapServers());
+        env.put("KAFKA_TOPIC_REPLICAS", "1");
+        env.putAll(scenario.getServiceEnv());
+        return env;
+    }
+
+    private List<Long> prepareAccounts(ServiceProcess payments, Scenario scenario, long firstUserId,
+                                       ExecutorService workers) throws Exception {
+        List<Long> userIds = new ArrayList<>(scenario.getUsers());
+        for (int i = 0; i < scenario.getUsers(); i++) {
+            userIds.add(firstUserId + i);
+        }
+
+        List<Future<?>> pending = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            pending.add(workers.submit(() -> {
+                String accounts = payments.baseUrl() + "/users/" + userId + "/payments/accounts";
+                post(accounts, null);
+                post(accounts + "/deposit", Map.of("amount", scenario.getInitialBalance()));
+                return null;
+            }));
+        }
+        for (Future<?> future : pending) {
+            future.get();
+        }
+        System.out.println("Prepared " + userIds.size() + " accounts with " + scenario.getInitialBalance() + " each");
+        return userIds;
+    }
+
+    private List<OrderOutcome> placeOrders(ServiceProcess orders, Scenario scenario, List<Long> userIds,
+                                           ExecutorService workers) throws Exception {
+        OrderOutcome[] outcomes = new OrderOutcome[scenario.getOrders()];
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> pending = new ArrayList<>(scenario.getConcurrency());
+        for (int worker = 0; worker < scenario.getConcurrency(); worker++) {
+            pending.add(workers.submit(() -> {
+                int index;
+                while ((index = next.getAndIncrement()) < outcomes.length) {
+                    Long userId = userIds.get(index % userIds.size());
+                    outcomes[index] = placeOrder(orders, scenario, userId);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : pending) {
+            future.get();
+        }
+        return Arrays.asList(outcomes);
+    }
+
+    private OrderOutcome placeOrder(ServiceProcess orders, Scenario scenario, Long userId) throws InterruptedException {
+        String url = orders.baseUrl() + "/users/" + userId + "/orders?waitMs=" + scenario.getWaitMs();
+        long sentAtMillis = System.currentTimeMillis();
+        long sentAtNanos = System.nanoTime();
+        try {
+            JsonNode order = post(url, Map.of("amount", scenario.getAmount()));
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sentAtNanos);
+            return new OrderOutcome(
+                    order.path("id").asLong(),
+                    order.path("status").asText(),
+                    sentAtMillis,
+                    latencyMicros,
+                    epochMillis(order.path("createdAt")),
+                    epochMillis(order.path("updatedAt")),
+                    null);
+        } catch (IOException | RuntimeException e) {
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sentAtNanos);
+            return OrderOutcome.failed(sentAtMillis, latencyMicros, e.getMessage());
+        }
+    }
+
+    private List<OrderOutcome> placeOrderBatches(ServiceProcess orders, Scenario scenario, List<Long> userIds,
+                                                 ExecutorService workers, KafkaTap tap) throws Exception {
+        OrderOutcome[] outcomes = new OrderOutcome[scenario.getOrders()];
+        int batchSize = scenario.getBatchSize();
+        int batches = (outcomes.length + batchSize - 1) / batchSize;
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> pending = new ArrayList<>(scenario.getConcurrency());
+        for (int worker = 0; worker < scenario.getConcurrency(); worker++) {
+            pending.add(workers.submit(() -> {
+                int batch;
+                while ((batch = next.getAndIncrement()) < batches) {
+                    int from = batch * batchSize;
+                    int to = Math.min(from + batchSize, outcomes.length);
+                    placeOrderBatch(orders, scenario, userIds.get(batch % userIds.size()), outcomes, from, to);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : pending) {
+            future.get();
+        }
+        return awaitSettlement(tap, outcomes, scenario.getWaitMs());
+    }
+
+    private void placeOrderBatch(ServiceProcess orders, Scenario scenario, Long userId, OrderOutcome[] outcomes,
+                                 int from, int to) throws InterruptedException {
+        String url = orders.baseUrl() + "/users/" + userId + "/orders/batch";
+        List<Map<String, Object>> items = Collections.nCopies(to - from, Map.of("amount", scenario.getAmount()));
+        long sentAtMillis = System.currentTimeMillis();
+        long sentAtNanos = System.nanoTime();
+        try {
+            JsonNode results = post(url, Map.of("orders", items)).path("results");
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sentAtNanos);
+            for (int i = from; i < to; i++) {
+                JsonNode result = results.path(i - from);
+                JsonNode order = result.path("order");
+                outcomes[i] = result.path("error").isTextual()
+                        ? OrderOutcome.failed(sentAtMillis, latencyMicros, result.path("error").asText())
+                        : new OrderOutcome(
+                                order.path("id").asLong(),
+                                order.path("status").asText(),
+                                sentAtMillis,
+                                latencyMicros,
+                                epochMillis(order.path("createdAt")),
+                                epochMillis(order.path("updatedAt")),
+                                null);
+            }
+        } catch (IOException | RuntimeException e) {
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sentAtNanos);
+            for (int i = from; i < to; i++) {
+                outcomes[i] = OrderOutcome.failed(sentAtMillis, latencyMicros, e.getMessage());
+            }
+        }
+    }
+
+    private List<OrderOutcome> awaitSettlement(KafkaTap tap, OrderOutcome[] outcomes, long waitMs) throws InterruptedException {
+        List<Long> created = new ArrayList<>(outcomes.length);
+        for (OrderOutcome outcome : outcomes) {
+            if (outcome.getError() == null) {
+                created.add(outcome.getOrderId());
+            }
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMs);
+        while (!tap.hasSeen(created) && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+
+        List<OrderOutcome> settled = new ArrayList<>(outcomes.length);
+        for (OrderOutcome outcome : outcomes) {
+            String status = outcome.getError() == null ? tap.status(outcome.getOrderId()) : null;
+            Long settledAt = outcome.getError() == null ? tap.statusTimestamp(outcome.getOrderId()) : null;
+            if (status == null || settledAt == null) {
+                settled.add(outcome);
+                continue;
+            }
+            settled.add(new OrderOutcome(
+                    outcome.getOrderId(),
+                    status,
+                    outcome.getSentAtMillis(),
+                    TimeUnit.MILLISECONDS.toMicros(Math.max(0, settledAt - outcome.getSentAtMillis())),
+                    outcome.getCreatedAtMillis(),
+                    null,
+                    null));
+        }
+        return settled;
+    }
+
+    private void awaitTap(KafkaTap tap, List<OrderOutcome> outcomes) throws InterruptedException {
+        List<Long> settled = new ArrayList<>();
+        for (OrderOutcome outcome : outcomes) {
+            if (outcome.getError() == null && outcome.isSettled()) {
+                settled.add(outcome.getOrderId());
+            }
+        }
+        long deadline = System.nanoTime() + TAP_CATCH_UP_TIMEOUT.toNanos();
+        while (!tap.hasSeen(settled) && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+    }
+
+    private JsonNode post(String url, Object body) throws IOException, InterruptedException {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofMinutes(2))
+                .POST(publisher)
+                .build();
+        HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("POST " + url + " returned " + response.statusCode() + ": "
+                    + new String(response.body()));
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private static Long epochMillis(JsonNode value) {
+        if (!value.isTextual()) {
+            return null;
+        }
+        return LocalDateTime.parse(value.asText()).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,9 @@
+\c orders_db;
+
+ALTER TABLE outbox ADD COLUMN IF NOT EXISTS locked_by VARCHAR(255);
+ALTER TABLE outbox ADD COLUMN IF NOT EXISTS locked_until TIMESTAMP;
+
+\c payments_db;
+
+ALTER TABLE outbox ADD COLUMN IF NOT EXISTS locked_by VARCHAR(255);
+ALTER TABLE outbox ADD COLUMN IF NOT EXISTS locked_until TIMESTAMP;
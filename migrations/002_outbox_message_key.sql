@@ -0,0 +1,7 @@
+\c orders_db;
+
+ALTER TABLE outbox ADD COLUMN IF NOT EXISTS message_key VARCHAR(255);
+
+\c payments_db;
+
+ALTER TABLE outbox ADD COLUMN IF NOT EXISTS message_key VARCHAR(255);
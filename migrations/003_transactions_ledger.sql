@@ -0,0 +1,4 @@
+\c payments_db;
+
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS applied BOOLEAN NOT NULL DEFAULT FALSE;
+CREATE INDEX IF NOT EXISTS idx_transactions_unapplied ON transactions(account_id) WHERE applied = false;
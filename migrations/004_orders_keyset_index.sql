@@ -0,0 +1,4 @@
+\c orders_db;
+
+CREATE INDEX IF NOT EXISTS idx_orders_user_created_id ON orders(user_id, created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_orders_user_id;
@@ -0,0 +1,7 @@
+\c orders_db;
+
+ALTER TABLE outbox ADD COLUMN IF NOT EXISTS trace_parent VARCHAR(55);
+
+\c payments_db;
+
+ALTER TABLE outbox ADD COLUMN IF NOT EXISTS trace_parent VARCHAR(55);
@@ -0,0 +1,8 @@
+\c orders_db;
+
+ALTER TABLE outbox ALTER COLUMN event_data TYPE BYTEA USING convert_to(event_data, 'UTF8');
+
+\c payments_db;
+
+ALTER TABLE outbox ALTER COLUMN event_data TYPE BYTEA USING convert_to(event_data, 'UTF8');
+ALTER TABLE inbox ALTER COLUMN event_data TYPE BYTEA USING convert_to(event_data, 'UTF8');
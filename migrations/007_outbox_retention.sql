@@ -0,0 +1,12 @@
+\c orders_db;
+
+DROP INDEX IF EXISTS idx_outbox_processed;
+CREATE INDEX IF NOT EXISTS idx_outbox_unprocessed ON outbox(id) WHERE processed = false;
+ALTER TABLE outbox SET (autovacuum_vacuum_scale_factor = 0.01, autovacuum_vacuum_insert_scale_factor = 0.01);
+
+\c payments_db;
+
+DROP INDEX IF EXISTS idx_outbox_processed;
+DROP INDEX IF EXISTS idx_inbox_processed;
+CREATE INDEX IF NOT EXISTS idx_outbox_unprocessed ON outbox(id) WHERE processed = false;
+ALTER TABLE outbox SET (autovacuum_vacuum_scale_factor = 0.01, autovacuum_vacuum_insert_scale_factor = 0.01);
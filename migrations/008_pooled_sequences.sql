@@ -0,0 +1,13 @@
+\c orders_db;
+
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
+SELECT setval('orders_id_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM orders), (SELECT last_value FROM orders_id_seq)));
+ALTER SEQUENCE outbox_id_seq INCREMENT BY 50;
+SELECT setval('outbox_id_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM outbox), (SELECT last_value FROM outbox_id_seq)));
+
+\c payments_db;
+
+ALTER SEQUENCE accounts_id_seq INCREMENT BY 50;
+SELECT setval('accounts_id_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM accounts), (SELECT last_value FROM accounts_id_seq)));
+ALTER SEQUENCE outbox_id_seq INCREMENT BY 50;
+SELECT setval('outbox_id_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM outbox), (SELECT last_value FROM outbox_id_seq)));
@@ -1,15 +1,25 @@
 package com.shop.orders.controller;
 
 import com.shop.orders.dto.CreateOrderRequest;
+import com.shop.orders.dto.CreateOrdersBatchRequest;
+import com.shop.orders.dto.CreateOrdersBatchResponse;
+import com.shop.orders.dto.OrderPageResponse;
 import com.shop.orders.dto.OrderResponse;
 import com.shop.orders.service.OrderService;
+import com.shop.orders.service.OrderSettlementWaiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -21,6 +31,12 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderSettlementWaiter settlementWaiter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     @Operation(summary = "Создать заказ", description = "Создает новый заказ для пользователя")
     public ResponseEntity<OrderResponse> createOrder(
@@ -32,6 +48,34 @@ public class OrderController {
         return ResponseEntity.ok(order);
     }
 
+    @PostMapping(params = "waitMs")
+    @Operation(summary = "Создать заказ и дождаться оплаты",
+            description = "Создает заказ и держит запрос открытым, пока не придет результат оплаты, но не дольше waitMs; "
+                    + "если результат не пришел, возвращает заказ в статусе NEW")
+    public DeferredResult<ResponseEntity<OrderResponse>> createOrderAndWait(
+            @Parameter(description = "ID пользователя", required = true)
+            @PathVariable Long userId,
+            @Parameter(description = "Сколько миллисекунд ждать результата оплаты", required = true)
+            @RequestParam long waitMs,
+            @Parameter(description = "Данные заказа", required = true)
+            @Valid @RequestBody CreateOrderRequest request) {
+        OrderResponse order = orderService.createOrder(userId, request);
+        return settlementWaiter.await(order, waitMs);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Создать пакет заказов",
+            description = "Создает до 1000 заказов одной транзакцией и возвращает результат по каждому элементу; "
+                    + "элементы, не прошедшие проверку, отклоняются, остальные создаются")
+    public ResponseEntity<CreateOrdersBatchResponse> createOrders(
+            @Parameter(description = "ID пользователя", required = true)
+            @PathVariable Long userId,
+            @Parameter(description = "Заказы для создания", required = true)
+            @Valid @RequestBody CreateOrdersBatchRequest request) {
+        CreateOrdersBatchResponse response = orderService.createOrders(userId, request.getOrders());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
     @Operation(summary = "Получить список заказов", description = "Возвращает все заказы пользователя")
     public ResponseEntity<List<OrderResponse>> getOrders(
@@ -41,6 +85,37 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Получить страницу заказов",
+            description = "Возвращает заказы пользователя от новых к старым порциями; для следующей страницы передайте nextCursor")
+    public ResponseEntity<OrderPageResponse> getOrdersPage(
+            @Parameter(description = "ID пользователя", required = true)
+            @PathVariable Long userId,
+            @Parameter(description = "Курсор из предыдущего ответа")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Размер страницы (не больше 500)")
+            @RequestParam(defaultValue = "50") int limit) {
+        OrderPageResponse page = orderService.getOrdersPage(userId, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Выгрузить все заказы потоком",
+            description = "Отдает все заказы пользователя в формате NDJSON, по одному JSON-объекту на строку")
+    public ResponseEntity<StreamingResponseBody> streamOrders(
+            @Parameter(description = "ID пользователя", required = true)
+            @PathVariable Long userId) {
+        StreamingResponseBody body = out -> orderService.streamOrdersByUserId(userId, order -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(order));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/{orderId}")
     @Operation(summary = "Получить заказ по ID", description = "Возвращает информацию о конкретном заказе")
     public ResponseEntity<OrderResponse> getOrder(
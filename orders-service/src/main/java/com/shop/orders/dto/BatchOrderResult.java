@@ -0,0 +1,16 @@
+package com.shop.orders.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderResult {
+    private int index;
+    private OrderResponse order;
+    private String error;
+}
@@ -0,0 +1,19 @@
+package com.shop.orders.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateOrdersBatchRequest {
+    @NotEmpty(message = "Orders are required")
+    @Size(max = 1000, message = "Batch must not contain more than 1000 orders")
+    private List<CreateOrderRequest> orders;
+}
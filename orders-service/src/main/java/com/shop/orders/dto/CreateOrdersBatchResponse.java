@@ -0,0 +1,17 @@
+package com.shop.orders.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateOrdersBatchResponse {
+    private int created;
+    private int rejected;
+    private List<BatchOrderResult> results;
+}
@@ -0,0 +1,13 @@
+package com.shop.orders.event;
+
+import com.shop.orders.model.OrderStatus;
+import lombok.Getter;
+import lombok.AllArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+public class OrderStatusChanged {
+    private Long orderId;
+    private Long userId;
+    private OrderStatus status;
+}
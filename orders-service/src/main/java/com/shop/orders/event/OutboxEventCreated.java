@@ -0,0 +1,10 @@
+package com.shop.orders.event;
+
+import lombok.Getter;
+import lombok.AllArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+public class OutboxEventCreated {
+    private Long outboxEventId;
+}
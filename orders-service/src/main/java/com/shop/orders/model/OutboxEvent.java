@@ -15,7 +15,8 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class OutboxEvent {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_id_seq")
+    @SequenceGenerator(name = "outbox_id_seq", sequenceName = "outbox_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "aggregate_id", nullable = false)
@@ -27,8 +28,11 @@ public class OutboxEvent {
     @Column(name = "event_type", nullable = false)
     private String eventType;
 
-    @Column(name = "event_data", nullable = false, columnDefinition = "TEXT")
-    private String eventData;
+    @Column(name = "message_key")
+    private String messageKey;
+
+    @Column(name = "event_data", nullable = false, columnDefinition = "BYTEA")
+    private byte[] eventData;
 
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
@@ -36,15 +40,25 @@ public class OutboxEvent {
     @Column(nullable = false)
     private Boolean processed = false;
 
+    @Column(name = "locked_by")
+    private String lockedBy;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "trace_parent")
+    private String traceParent;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
     }
 
-    public OutboxEvent(String aggregateId, String aggregateType, String eventType, String eventData) {
+    public OutboxEvent(String aggregateId, String aggregateType, String eventType, String messageKey, byte[] eventData) {
         this.aggregateId = aggregateId;
         this.aggregateType = aggregateType;
         this.eventType = eventType;
+        this.messageKey = messageKey;
         this.eventData = eventData;
     }
 } 
\ No newline at end of file
@@ -1,12 +1,42 @@
 package com.shop.orders.repository;
 
 import com.shop.orders.model.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
     List<Order> findByUserId(Long userId);
     List<Order> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    @Query(value = "SELECT * FROM orders WHERE user_id = :userId " +
+            "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Order> findFirstPage(@Param("userId") Long userId, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM orders WHERE user_id = :userId AND (created_at, id) < (:createdAt, :id) " +
+            "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Order> findPageAfter(@Param("userId") Long userId,
+                              @Param("createdAt") LocalDateTime createdAt,
+                              @Param("id") Long id,
+                              @Param("limit") int limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Order> streamByUserIdOrderByCreatedAtDescIdDesc(Long userId);
+
+    @Query(value = "UPDATE orders SET status = :status, updated_at = :updatedAt " +
+            "WHERE id IN (:ids) AND status = :expectedStatus " +
+            "RETURNING id AS id, user_id AS userId, created_at AS createdAt", nativeQuery = true)
+    List<OrderStatusChange> updateStatus(@Param("ids") Collection<Long> ids,
+                                         @Param("expectedStatus") String expectedStatus,
+                                         @Param("status") String status,
+                                         @Param("updatedAt") LocalDateTime updatedAt);
 } 
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.shop.orders.repository;
+
+import com.shop.orders.model.Order;
+
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+    void insertAll(List<Order> orders);
+}
@@ -0,0 +1,32 @@
+package com.shop.orders.repository;
+
+import com.shop.orders.model.Order;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO orders (id, user_id, amount, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, orders, orders.size(), (ps, order) -> {
+            ps.setLong(1, order.getId());
+            ps.setLong(2, order.getUserId());
+            ps.setBigDecimal(3, order.getAmount());
+            ps.setString(4, order.getStatus().name());
+            ps.setTimestamp(5, Timestamp.valueOf(order.getCreatedAt()));
+            ps.setTimestamp(6, Timestamp.valueOf(order.getUpdatedAt()));
+        });
+    }
+}
@@ -0,0 +1,9 @@
+package com.shop.orders.repository;
+
+import java.time.LocalDateTime;
+
+public interface OrderStatusChange {
+    Long getId();
+    Long getUserId();
+    LocalDateTime getCreatedAt();
+}
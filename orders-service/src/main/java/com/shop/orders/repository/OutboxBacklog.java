@@ -0,0 +1,6 @@
+package com.shop.orders.repository;
+
+public interface OutboxBacklog {
+    Long getSize();
+    Double getOldestAgeSeconds();
+}
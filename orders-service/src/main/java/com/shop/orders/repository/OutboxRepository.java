@@ -4,14 +4,37 @@ import com.shop.orders.model.OutboxEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
-    List<OutboxEvent> findByProcessedFalseOrderByCreatedAtAsc();
-    
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long>, OutboxRepositoryCustom {
+    @Transactional
+    @Query(value = "UPDATE outbox SET locked_by = :owner, locked_until = now() + :leaseMs * INTERVAL '1 millisecond' " +
+            "WHERE id IN (SELECT id FROM outbox " +
+            "WHERE processed = false AND (locked_until IS NULL OR locked_until < now()) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "RETURNING *", nativeQuery = true)
+    List<OutboxEvent> claimBatch(@Param("owner") String owner, @Param("leaseMs") long leaseMs, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.processed = true WHERE e.id IN :ids")
+    int markAsProcessed(@Param("ids") Collection<Long> ids);
+
+    @Transactional
     @Modifying
-    @Query("UPDATE OutboxEvent e SET e.processed = true WHERE e.id = ?1")
-    void markAsProcessed(Long id);
-} 
\ No newline at end of file
+    @Query(value = "DELETE FROM outbox WHERE id IN (SELECT id FROM outbox " +
+            "WHERE processed = true AND created_at < :cutoff " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Query(value = "SELECT count(*) AS size, " +
+            "COALESCE(EXTRACT(EPOCH FROM LOCALTIMESTAMP - min(created_at)), 0) AS oldestAgeSeconds " +
+            "FROM outbox WHERE processed = false", nativeQuery = true)
+    OutboxBacklog backlog();
+}
@@ -0,0 +1,9 @@
+package com.shop.orders.repository;
+
+import com.shop.orders.model.OutboxEvent;
+
+import java.util.List;
+
+public interface OutboxRepositoryCustom {
+    void insertAll(List<OutboxEvent> events);
+}
@@ -0,0 +1,35 @@
+package com.shop.orders.repository;
+
+import com.shop.orders.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+public class OutboxRepositoryImpl implements OutboxRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox (id, aggregate_id, aggregate_type, event_type, message_key, event_data, trace_parent, created_at, processed) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, false)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.getId());
+            ps.setString(2, event.getAggregateId());
+            ps.setString(3, event.getAggregateType());
+            ps.setString(4, event.getEventType());
+            ps.setString(5, event.getMessageKey());
+            ps.setBytes(6, event.getEventData());
+            ps.setString(7, event.getTraceParent());
+            ps.setTimestamp(8, Timestamp.valueOf(event.getCreatedAt()));
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package com.shop.orders.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class SequenceIdAllocator {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public List<Long> allocate(String sequence, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE;
+            List<Long> highValues = jdbcTemplate.queryForList(
+                    "SELECT nextval(?::regclass) FROM generate_series(1, ?)", Long.class, sequence, blocks);
+            for (Long highValue : highValues) {
+                for (long id = Math.max(1, highValue - ALLOCATION_SIZE + 1); id <= highValue && ids.size() < count; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+}
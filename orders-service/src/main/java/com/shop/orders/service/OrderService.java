@@ -1,22 +1,55 @@
 package com.shop.orders.service;
 
+import com.shop.orders.dto.BatchOrderResult;
 import com.shop.orders.dto.CreateOrderRequest;
+import com.shop.orders.dto.CreateOrdersBatchResponse;
+import com.shop.orders.dto.OrderPageResponse;
 import com.shop.orders.dto.OrderResponse;
 import com.shop.orders.dto.PaymentRequestEvent;
+import com.shop.orders.event.OrderStatusChanged;
+import com.shop.orders.event.OutboxEventCreated;
 import com.shop.orders.model.Order;
 import com.shop.orders.model.OrderStatus;
 import com.shop.orders.model.OutboxEvent;
 import com.shop.orders.repository.OrderRepository;
+import com.shop.orders.repository.OrderStatusChange;
 import com.shop.orders.repository.OutboxRepository;
+import com.shop.orders.repository.SequenceIdAllocator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class OrderService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final String ORDER_ID_SEQUENCE = "orders_id_seq";
+
+    private static final String OUTBOX_ID_SEQUENCE = "outbox_id_seq";
+
+    @PersistenceContext
+    private EntityManager entityManager;
     
     @Autowired
     private OrderRepository orderRepository;
@@ -25,7 +58,22 @@ public class OrderService {
     private OutboxRepository outboxRepository;
     
     @Autowired
-    private ObjectMapper objectMapper;
+    private PaymentEventCodec paymentEventCodec;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private OutboxTracing outboxTracing;
+
+    @Autowired
+    private SequenceIdAllocator idAllocator;
+
+    @Autowired
+    private Validator validator;
 
     @Transactional
     public OrderResponse createOrder(Long userId, CreateOrderRequest request) {
@@ -33,14 +81,10 @@ public class OrderService {
         order = orderRepository.save(order);
         
         try {
-            String eventData = objectMapper.writeValueAsString(new PaymentRequestEvent(order.getId(), userId, request.getAmount()));
-            OutboxEvent outboxEvent = new OutboxEvent(
-                order.getId().toString(),
-                "Order",
-                "ORDER_CREATED",
-                eventData
-            );
-            outboxRepository.save(outboxEvent);
+            OutboxEvent outboxEvent = buildOutboxEvent(order);
+            outboxEvent.setTraceParent(outboxTracing.currentTraceParent());
+            outboxEvent = outboxRepository.save(outboxEvent);
+            eventPublisher.publishEvent(new OutboxEventCreated(outboxEvent.getId()));
         } catch (Exception e) {
             throw new RuntimeException("Failed to create outbox event", e);
         }
@@ -48,6 +92,50 @@ public class OrderService {
         return convertToResponse(order);
     }
 
+    @Transactional
+    public CreateOrdersBatchResponse createOrders(Long userId, List<CreateOrderRequest> requests) {
+        BatchOrderResult[] results = new BatchOrderResult[requests.size()];
+        List<Integer> accepted = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            CreateOrderRequest request = requests.get(i);
+            String error = request == null ? "Order is required" : validationError(validator.validate(request));
+            if (error != null) {
+                results[i] = new BatchOrderResult(i, null, error);
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        List<Long> orderIds = idAllocator.allocate(ORDER_ID_SEQUENCE, accepted.size());
+        List<Long> outboxIds = idAllocator.allocate(OUTBOX_ID_SEQUENCE, accepted.size());
+        LocalDateTime now = LocalDateTime.now();
+        String traceParent = outboxTracing.currentTraceParent();
+        List<Order> orders = new ArrayList<>(accepted.size());
+        List<OutboxEvent> outboxEvents = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            Order order = new Order(userId, requests.get(accepted.get(i)).getAmount());
+            order.setId(orderIds.get(i));
+            order.setCreatedAt(now);
+            order.setUpdatedAt(now);
+            orders.add(order);
+
+            OutboxEvent outboxEvent = buildOutboxEvent(order);
+            outboxEvent.setId(outboxIds.get(i));
+            outboxEvent.setCreatedAt(now);
+            outboxEvent.setTraceParent(traceParent);
+            outboxEvents.add(outboxEvent);
+
+            results[accepted.get(i)] = new BatchOrderResult(accepted.get(i), convertToResponse(order), null);
+        }
+
+        orderRepository.insertAll(orders);
+        outboxRepository.insertAll(outboxEvents);
+        if (!outboxEvents.isEmpty()) {
+            eventPublisher.publishEvent(new OutboxEventCreated(outboxEvents.get(outboxEvents.size() - 1).getId()));
+        }
+        return new CreateOrdersBatchResponse(orders.size(), requests.size() - orders.size(), List.of(results));
+    }
+
     public List<OrderResponse> getOrdersByUserId(Long userId) {
         List<Order> orders = orderRepository.findByUserIdOrderByCreatedAtDesc(userId);
         return orders.stream()
@@ -55,6 +143,37 @@ public class OrderService {
                 .collect(Collectors.toList());
     }
 
+    public OrderPageResponse getOrdersPage(Long userId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Order> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findFirstPage(userId, pageSize + 1);
+        } else {
+            CursorPosition position = decodeCursor(cursor);
+            orders = orderRepository.findPageAfter(userId, position.createdAt, position.id, pageSize + 1);
+        }
+
+        String nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            nextCursor = encodeCursor(orders.get(pageSize - 1));
+        }
+        List<OrderResponse> items = orders.stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+        return new OrderPageResponse(items, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamOrdersByUserId(Long userId, Consumer<OrderResponse> consumer) {
+        try (Stream<Order> orders = orderRepository.streamByUserIdOrderByCreatedAtDescIdDesc(userId)) {
+            orders.forEach(order -> {
+                consumer.accept(convertToResponse(order));
+                entityManager.detach(order);
+            });
+        }
+    }
+
     public OrderResponse getOrderById(Long orderId, Long userId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
@@ -70,11 +189,87 @@ public class OrderService {
     public void updateOrderStatus(Long orderId, OrderStatus status) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
+        OrderStatus previous = order.getStatus();
         order.setStatus(status);
         orderRepository.save(order);
+        if (previous == OrderStatus.NEW && status != OrderStatus.NEW) {
+            recordSettlement(status, order.getCreatedAt(), LocalDateTime.now());
+        }
+        eventPublisher.publishEvent(new OrderStatusChanged(orderId, order.getUserId(), status));
+    }
+
+    @Transactional
+    public int updateOrderStatuses(Map<Long, OrderStatus> statusByOrderId) {
+        Map<OrderStatus, List<Long>> orderIdsByStatus = new EnumMap<>(OrderStatus.class);
+        statusByOrderId.forEach((orderId, status) ->
+                orderIdsByStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(orderId));
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        for (Map.Entry<OrderStatus, List<Long>> entry : orderIdsByStatus.entrySet()) {
+            List<OrderStatusChange> changes =
+                    orderRepository.updateStatus(entry.getValue(), OrderStatus.NEW.name(), entry.getKey().name(), now);
+            for (OrderStatusChange change : changes) {
+                recordSettlement(entry.getKey(), change.getCreatedAt(), now);
+                eventPublisher.publishEvent(new OrderStatusChanged(change.getId(), change.getUserId(), entry.getKey()));
+            }
+            updated += changes.size();
+        }
+        return updated;
+    }
+
+    private void recordSettlement(OrderStatus status, LocalDateTime createdAt, LocalDateTime settledAt) {
+        if (createdAt == null) {
+            return;
+        }
+        Timer.builder("orders.settlement.latency")
+                .description("Time from order creation to the payment outcome being applied")
+                .tag("status", status.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.between(createdAt, settledAt));
+    }
+
+    private String validationError(Set<ConstraintViolation<CreateOrderRequest>> violations) {
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
     }
 
-    private OrderResponse convertToResponse(Order order) {
+    private String encodeCursor(Order order) {
+        String position = order.getCreatedAt() + "|" + order.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private CursorPosition decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new CursorPosition(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new RuntimeException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    OutboxEvent buildOutboxEvent(Order order) {
+        byte[] eventData = paymentEventCodec.encode(new PaymentRequestEvent(order.getId(), order.getUserId(), order.getAmount()));
+        return new OutboxEvent(
+            order.getId().toString(),
+            "Order",
+            "ORDER_CREATED",
+            order.getUserId().toString(),
+            eventData
+        );
+    }
+
+    OrderResponse convertToResponse(Order order) {
         return new OrderResponse(
             order.getId(),
             order.getUserId(),
@@ -84,4 +279,16 @@ public class OrderService {
             order.getUpdatedAt()
         );
     }
+
+    private static final class CursorPosition {
+
+        private final LocalDateTime createdAt;
+
+        private final Long id;
+
+        CursorPosition(LocalDateTime createdAt, Long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+    }
 } 
\ No newline at end of file
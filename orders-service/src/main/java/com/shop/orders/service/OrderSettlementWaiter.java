@@ -0,0 +1,87 @@
+package com.shop.orders.service;
+
+import com.shop.orders.dto.OrderResponse;
+import com.shop.orders.event.OrderStatusChanged;
+import com.shop.orders.model.OrderStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class OrderSettlementWaiter {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Value("${orders.settlement.max-wait-ms:30000}")
+    private long maxWaitMs;
+
+    @Value("${orders.settlement.max-waiting:10000}")
+    private int maxWaiting;
+
+    private final Map<Long, Set<DeferredResult<ResponseEntity<OrderResponse>>>> waiting = new ConcurrentHashMap<>();
+
+    public DeferredResult<ResponseEntity<OrderResponse>> await(OrderResponse order, long waitMs) {
+        long timeoutMs = Math.max(0, Math.min(waitMs, maxWaitMs));
+        DeferredResult<ResponseEntity<OrderResponse>> result = new DeferredResult<>(timeoutMs);
+        if (timeoutMs == 0 || order.getStatus() != OrderStatus.NEW || waiting.size() >= maxWaiting) {
+            result.setResult(ResponseEntity.ok(order));
+            return result;
+        }
+
+        Long orderId = order.getId();
+        result.onTimeout(() -> result.setResult(current(order)));
+        result.onError(error -> result.setResult(ResponseEntity.ok(order)));
+        result.onCompletion(() -> waiting.computeIfPresent(orderId, (id, results) -> {
+            results.remove(result);
+            return results.isEmpty() ? null : results;
+        }));
+        waiting.computeIfAbsent(orderId, id -> ConcurrentHashMap.newKeySet()).add(result);
+
+        ResponseEntity<OrderResponse> latest = current(order);
+        if (latest.getBody().getStatus() != OrderStatus.NEW) {
+            result.setResult(latest);
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChanged event) {
+        if (event.getStatus() == OrderStatus.NEW) {
+            return;
+        }
+        Set<DeferredResult<ResponseEntity<OrderResponse>>> results = waiting.remove(event.getOrderId());
+        if (results == null) {
+            return;
+        }
+
+        ResponseEntity<OrderResponse> response;
+        try {
+            response = ResponseEntity.ok(orderService.getOrderById(event.getOrderId(), event.getUserId()));
+        } catch (Exception e) {
+            log.error("Failed to load settled order {}", event.getOrderId(), e);
+            return;
+        }
+        for (DeferredResult<ResponseEntity<OrderResponse>> result : results) {
+            result.setResult(response);
+        }
+    }
+
+    private ResponseEntity<OrderResponse> current(OrderResponse order) {
+        try {
+            return ResponseEntity.ok(orderService.getOrderById(order.getId(), order.getUserId()));
+        } catch (Exception e) {
+            return ResponseEntity.ok(order);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.shop.orders.service;
+
+import com.shop.orders.dto.OrderStatusNotification;
+import com.shop.orders.event.OrderStatusChanged;
+import com.shop.orders.model.OrderStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class OrderStatusNotifier {
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${orders.notifications.max-pending-users:10000}")
+    private int maxPendingUsers;
+
+    private final Map<Long, Map<Long, OrderStatus>> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChanged event) {
+        if (pending.size() >= maxPendingUsers && !pending.containsKey(event.getUserId())) {
+            dropped.incrementAndGet();
+            return;
+        }
+        pending.compute(event.getUserId(), (userId, statuses) -> {
+            Map<Long, OrderStatus> result = statuses != null ? statuses : new LinkedHashMap<>();
+            result.put(event.getOrderId(), event.getStatus());
+            return result;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${orders.notifications.flush-interval-ms:200}")
+    public void flush() {
+        for (Long userId : pending.keySet()) {
+            Map<Long, OrderStatus> statuses = pending.remove(userId);
+            if (statuses == null) {
+                continue;
+            }
+
+            List<OrderStatusNotification> notifications = new ArrayList<>(statuses.size());
+            statuses.forEach((orderId, status) -> notifications.add(new OrderStatusNotification(orderId, status)));
+            try {
+                messagingTemplate.convertAndSend(destination(userId), notifications);
+            } catch (Exception e) {
+                log.error("Failed to push order status updates to user {}", userId, e);
+            }
+        }
+
+        long droppedSinceLastFlush = dropped.getAndSet(0);
+        if (droppedSinceLastFlush > 0) {
+            log.warn("Dropped {} order status notifications, pending buffer is full", droppedSinceLastFlush);
+        }
+    }
+
+    private static String destination(Long userId) {
+        return "/topic/users/" + userId + "/orders";
+    }
+}
@@ -1,17 +1,38 @@
 package com.shop.orders.service;
 
 import com.shop.orders.config.KafkaConfig;
+import com.shop.orders.event.OutboxEventCreated;
 import com.shop.orders.model.OutboxEvent;
 import com.shop.orders.repository.OutboxRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+@Slf4j
 @Component
 public class OutboxEventPublisher {
 
@@ -19,26 +40,157 @@ public class OutboxEventPublisher {
     private OutboxRepository outboxRepository;
 
     @Autowired
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private MeterRegistry meterRegistry;
 
-    @Scheduled(fixedRate = 5000)
-    @Transactional
-    public void publishOutboxEvents() {
-        List<OutboxEvent> events = outboxRepository.findByProcessedFalseOrderByCreatedAtAsc();
+    @Autowired
+    private OutboxTracing outboxTracing;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${outbox.relay.lease-ms:30000}")
+    private long leaseMs;
+
+    @Value("${outbox.relay.instance-id:${random.uuid}}")
+    private String instanceId;
+
+    @Value("${outbox.relay.min-poll-interval-ms:1000}")
+    private long minPollIntervalMs;
+
+    @Value("${outbox.relay.max-poll-interval-ms:30000}")
+    private long maxPollIntervalMs;
+
+    private final ExecutorService relayExecutor =
+            Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "outbox-relay"));
+
+    private final AtomicBoolean relayScheduled = new AtomicBoolean(false);
+
+    private volatile long pollIntervalMs;
+
+    private volatile long nextPollAt;
+
+    private Timer publishLatency;
 
-        for (OutboxEvent event : events) {
+    @PostConstruct
+    public void init() {
+        pollIntervalMs = minPollIntervalMs;
+        publishLatency = Timer.builder("outbox.publish.latency")
+                .description("Time from outbox insert to Kafka acknowledgement")
+                .tag("topic", KafkaConfig.PAYMENT_REQUEST_TOPIC)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        relayExecutor.shutdown();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOutboxEventCreated(OutboxEventCreated event) {
+        triggerRelay();
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.min-poll-interval-ms:1000}")
+    public void pollOutbox() {
+        if (System.currentTimeMillis() >= nextPollAt) {
+            triggerRelay();
+        }
+    }
+
+    private void triggerRelay() {
+        if (relayScheduled.compareAndSet(false, true)) {
+            relayExecutor.execute(this::relay);
+        }
+    }
+
+    private void relay() {
+        relayScheduled.set(false);
+        int published = 0;
+        try {
+            published = publishOutboxEvents();
+        } catch (Exception e) {
+            log.error("Outbox relay run failed", e);
+        }
+
+        pollIntervalMs = published > 0 ? minPollIntervalMs : Math.min(pollIntervalMs * 2, maxPollIntervalMs);
+        nextPollAt = System.currentTimeMillis() + pollIntervalMs;
+    }
+
+    private int publishOutboxEvents() {
+        int published = 0;
+
+        while (true) {
+            List<OutboxEvent> batch = outboxRepository.claimBatch(instanceId, leaseMs, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            int acknowledged = publishBatch(batch);
+            published += acknowledged;
+
+            if (acknowledged < batch.size() || batch.size() < batchSize) {
+                break;
+            }
+        }
+        return published;
+    }
+
+    private int publishBatch(List<OutboxEvent> batch) {
+        List<CompletableFuture<SendResult<String, byte[]>>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            sends.add(send(event));
+        }
+
+        List<Long> acknowledged = new ArrayList<>(batch.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
             try {
-                String topic = KafkaConfig.PAYMENT_REQUEST_TOPIC;
-                
-                kafkaTemplate.send(topic, event.getEventData());
-                event.setProcessed(true);
-                outboxRepository.save(event);
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                acknowledged.add(event.getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
             } catch (Exception e) {
-                System.err.println("Failed to publish outbox event: " + event.getId() + ", Error: " + e.getMessage());
+                log.error("Failed to publish outbox event: {}", event.getId(), e);
             }
         }
+
+        if (!acknowledged.isEmpty()) {
+            outboxRepository.markAsProcessed(acknowledged);
+        }
+        return acknowledged.size();
+    }
+
+    private CompletableFuture<SendResult<String, byte[]>> send(OutboxEvent event) {
+        LocalDateTime createdAt = event.getCreatedAt();
+        Span relaySpan = outboxTracing.startRelaySpan(event, KafkaConfig.PAYMENT_REQUEST_TOPIC);
+        try (Tracer.SpanInScope scope = outboxTracing.withSpan(relaySpan)) {
+            return kafkaTemplate.send(toRecord(event))
+                    .whenComplete((result, ex) -> {
+                        if (ex == null) {
+                            publishLatency.record(Duration.between(createdAt, LocalDateTime.now()));
+                        }
+                        outboxTracing.end(relaySpan, ex);
+                    });
+        } catch (Exception e) {
+            outboxTracing.end(relaySpan, e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private ProducerRecord<String, byte[]> toRecord(OutboxEvent event) {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(
+                KafkaConfig.PAYMENT_REQUEST_TOPIC, event.getMessageKey(), event.getEventData());
+        record.headers().add(KafkaConfig.EVENT_ID_HEADER, event.getId().toString().getBytes(StandardCharsets.UTF_8));
+        return record;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,51 @@
+package com.shop.orders.service;
+
+import com.shop.orders.repository.OutboxBacklog;
+import com.shop.orders.repository.OutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class OutboxMetrics {
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicLong backlogSize = new AtomicLong();
+
+    private final AtomicLong oldestAgeMs = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("outbox.backlog.size", backlogSize, AtomicLong::get)
+                .description("Outbox rows not yet published to Kafka")
+                .register(meterRegistry);
+        TimeGauge.builder("outbox.backlog.oldest.age", oldestAgeMs, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest outbox row not yet published to Kafka")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.metrics.refresh-interval-ms:10000}")
+    public void refresh() {
+        try {
+            OutboxBacklog backlog = outboxRepository.backlog();
+            backlogSize.set(backlog.getSize());
+            oldestAgeMs.set(Math.round(backlog.getOldestAgeSeconds() * 1000));
+        } catch (Exception e) {
+            log.warn("Failed to refresh outbox backlog metrics", e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.shop.orders.service;
+
+import com.shop.orders.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+public class OutboxPurger {
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${outbox.retention.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${outbox.retention.purge-batch-size:5000}")
+    private int batchSize;
+
+    private Counter purged;
+
+    @PostConstruct
+    public void init() {
+        purged = Counter.builder("retention.purged.rows")
+                .description("Rows deleted by the retention purger")
+                .tag("table", "outbox")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.retention.purge-interval-ms:60000}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        try {
+            int deleted;
+            do {
+                deleted = outboxRepository.deleteProcessedBefore(cutoff, batchSize);
+                purged.increment(deleted);
+            } while (deleted == batchSize);
+        } catch (Exception e) {
+            log.warn("Failed to purge processed outbox rows", e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.shop.orders.service;
+
+import com.shop.orders.model.OutboxEvent;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class OutboxTracing {
+
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    @Autowired
+    private ObjectProvider<Tracer> tracer;
+
+    @Autowired
+    private ObjectProvider<Propagator> propagator;
+
+    public String currentTraceParent() {
+        Span span = tracer().currentSpan();
+        if (span == null) {
+            return null;
+        }
+        Map<String, String> carrier = new HashMap<>();
+        propagator().inject(span.context(), carrier, Map::put);
+        return carrier.get(TRACEPARENT_HEADER);
+    }
+
+    public String traceParent(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(TRACEPARENT_HEADER);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : currentTraceParent();
+    }
+
+    public Span startRelaySpan(OutboxEvent event, String topic) {
+        if (event.getTraceParent() == null) {
+            return null;
+        }
+        Span.Builder builder = propagator().extract(Map.of(TRACEPARENT_HEADER, event.getTraceParent()), Map::get)
+                .name("outbox relay " + topic)
+                .tag("outbox.id", String.valueOf(event.getId()))
+                .tag("messaging.destination.name", topic);
+        if (event.getCreatedAt() != null) {
+            long createdAtMicros = TimeUnit.MILLISECONDS.toMicros(
+                    event.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            builder.startTimestamp(createdAtMicros, TimeUnit.MICROSECONDS);
+        }
+        return builder.start();
+    }
+
+    public Tracer.SpanInScope withSpan(Span span) {
+        return tracer().withSpan(span);
+    }
+
+    public void end(Span span, Throwable error) {
+        if (span == null) {
+            return;
+        }
+        if (error != null) {
+            span.error(error);
+        }
+        span.end();
+    }
+
+    private Tracer tracer() {
+        return tracer.getIfAvailable(() -> Tracer.NOOP);
+    }
+
+    private Propagator propagator() {
+        return propagator.getIfAvailable(() -> Propagator.NOOP);
+    }
+}
@@ -0,0 +1,70 @@
+package com.shop.orders.service;
+
+import com.shop.orders.config.KafkaConfig;
+import com.shop.orders.dto.PaymentStatusEvent;
+import com.shop.orders.model.OrderStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "orders.listener.batch-enabled", havingValue = "true")
+public class PaymentStatusBatchListener {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PaymentEventCodec paymentEventCodec;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer recordAge;
+
+    @PostConstruct
+    public void init() {
+        recordAge = Timer.builder("kafka.record.age")
+                .description("Time from producing a record to handling it")
+                .tag("topic", KafkaConfig.PAYMENT_STATUS_TOPIC)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(topics = KafkaConfig.PAYMENT_STATUS_TOPIC, groupId = "orders-group",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            concurrency = "${kafka.listener.concurrency:6}")
+    public void handlePaymentStatuses(List<ConsumerRecord<String, byte[]>> records) {
+        Map<Long, OrderStatus> statusByOrderId = new LinkedHashMap<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            recordAge.record(Math.max(0, System.currentTimeMillis() - record.timestamp()), TimeUnit.MILLISECONDS);
+            try {
+                PaymentStatusEvent event = paymentEventCodec.decodeStatus(record.value());
+                if (event.getOrderId() != null) {
+                    statusByOrderId.putIfAbsent(event.getOrderId(), event.getStatus());
+                }
+            } catch (Exception e) {
+                log.error("Failed to process payment status event", e);
+            }
+        }
+
+        if (statusByOrderId.isEmpty()) {
+            return;
+        }
+
+        int updated = orderService.updateOrderStatuses(statusByOrderId);
+        log.debug("Applied {} of {} payment status events", updated, records.size());
+    }
+}
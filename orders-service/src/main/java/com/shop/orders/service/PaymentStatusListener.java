@@ -3,28 +3,53 @@ package com.shop.orders.service;
 import com.shop.orders.config.KafkaConfig;
 import com.shop.orders.dto.PaymentStatusEvent;
 import com.shop.orders.model.OrderStatus;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
+import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
 @Component
+@ConditionalOnProperty(name = "orders.listener.batch-enabled", havingValue = "false", matchIfMissing = true)
 public class PaymentStatusListener {
 
     @Autowired
     private OrderService orderService;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private PaymentEventCodec paymentEventCodec;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer recordAge;
+
+    @PostConstruct
+    public void init() {
+        recordAge = Timer.builder("kafka.record.age")
+                .description("Time from producing a record to handling it")
+                .tag("topic", KafkaConfig.PAYMENT_STATUS_TOPIC)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
-    @KafkaListener(topics = KafkaConfig.PAYMENT_STATUS_TOPIC, groupId = "orders-group")
-    public void handlePaymentStatus(String message) {
+    @KafkaListener(topics = KafkaConfig.PAYMENT_STATUS_TOPIC, groupId = "orders-group",
+            concurrency = "${kafka.listener.concurrency:6}")
+    public void handlePaymentStatus(ConsumerRecord<String, byte[]> record) {
+        recordAge.record(Math.max(0, System.currentTimeMillis() - record.timestamp()), TimeUnit.MILLISECONDS);
         try {
-            PaymentStatusEvent event = objectMapper.readValue(message, PaymentStatusEvent.class);
+            PaymentStatusEvent event = paymentEventCodec.decodeStatus(record.value());
             orderService.updateOrderStatus(event.getOrderId(), event.getStatus());
-            System.out.println("Order " + event.getOrderId() + " status updated to " + event.getStatus() + ". Message: " + event.getMessage());
+            log.debug("Order {} status updated to {}: {}", event.getOrderId(), event.getStatus(), event.getMessage());
         } catch (Exception e) {
-            System.err.println("Failed to process payment status event: " + e.getMessage());
+            log.error("Failed to process payment status event", e);
         }
     }
 } 
\ No newline at end of file
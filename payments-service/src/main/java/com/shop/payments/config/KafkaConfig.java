@@ -1,29 +1,95 @@
 package com.shop.payments.config;
 
+import com.shop.payments.service.PaymentMetrics;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.ContainerCustomizer;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.RetryListener;
 
 @Configuration
 public class KafkaConfig {
 
     public static final String PAYMENT_REQUEST_TOPIC = "payment.request";
     public static final String PAYMENT_STATUS_TOPIC = "payment.status";
+    public static final String BALANCE_INVALIDATION_TOPIC = "balance.invalidation";
+    public static final String EVENT_ID_HEADER = "event_id";
+
+    @Value("${kafka.topics.partitions:6}")
+    private int partitions;
+
+    @Value("${kafka.topics.replicas:1}")
+    private int replicas;
 
     @Bean
     public NewTopic paymentRequestTopic() {
         return TopicBuilder.name(PAYMENT_REQUEST_TOPIC)
-                .partitions(1)
-                .replicas(1)
+                .partitions(partitions)
+                .replicas(replicas)
                 .build();
     }
 
     @Bean
     public NewTopic paymentStatusTopic() {
         return TopicBuilder.name(PAYMENT_STATUS_TOPIC)
-                .partitions(1)
-                .replicas(1)
+                .partitions(partitions)
+                .replicas(replicas)
                 .build();
     }
-} 
\ No newline at end of file
+
+    @Bean
+    public NewTopic balanceInvalidationTopic() {
+        return TopicBuilder.name(BALANCE_INVALIDATION_TOPIC)
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+
+    @Bean
+    public ContainerCustomizer<Object, Object, ConcurrentMessageListenerContainer<Object, Object>> offsetCommitCustomizer(
+            @Value("${kafka.listener.async-commits:true}") boolean asyncCommits) {
+        return container -> container.getContainerProperties().setSyncCommits(!asyncCommits);
+    }
+
+    @Bean
+    public DefaultErrorHandler kafkaErrorHandler(PaymentMetrics paymentMetrics) {
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler();
+        errorHandler.setRetryListeners(new RetryListener() {
+            @Override
+            public void failedDelivery(ConsumerRecord<?, ?> record, Exception ex, int deliveryAttempt) {
+                countConflict(ex);
+            }
+
+            @Override
+            public void failedDelivery(ConsumerRecords<?, ?> records, Exception ex, int deliveryAttempt) {
+                countConflict(ex);
+            }
+
+            private void countConflict(Exception ex) {
+                if (PaymentMetrics.isOptimisticLockFailure(ex)) {
+                    paymentMetrics.recordOptimisticLockConflict("kafka");
+                }
+            }
+        });
+        return errorHandler;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        return factory;
+    }
+}
@@ -3,11 +3,14 @@ package com.shop.payments.controller;
 import com.shop.payments.dto.AccountResponse;
 import com.shop.payments.dto.BalanceResponse;
 import com.shop.payments.dto.DepositRequest;
+import com.shop.payments.service.PaymentMetrics;
 import com.shop.payments.service.PaymentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
@@ -21,6 +24,9 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private PaymentMetrics paymentMetrics;
+
     @PostMapping("/accounts")
     @Operation(summary = "Создать счет", description = "Создает новый счет для пользователя")
     public ResponseEntity<AccountResponse> createAccount(
@@ -51,4 +57,10 @@ public class PaymentController {
         BalanceResponse balance = paymentService.getBalance(userId);
         return ResponseEntity.ok(balance);
     }
-} 
\ No newline at end of file
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleConcurrentUpdate(OptimisticLockingFailureException e) {
+        paymentMetrics.recordOptimisticLockConflict("http");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Account was updated concurrently, retry the request");
+    }
+}
@@ -0,0 +1,55 @@
+package com.shop.payments.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "inbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class InboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "message_id", nullable = false, unique = true)
+    private String messageId;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private String aggregateId;
+
+    @Column(name = "aggregate_type", nullable = false)
+    private String aggregateType;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    @Column(name = "event_data", nullable = false, columnDefinition = "BYTEA")
+    private byte[] eventData;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private Boolean processed = false;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public InboxMessage(String messageId, String aggregateId, String aggregateType, String eventType, byte[] eventData) {
+        this.messageId = messageId;
+        this.aggregateId = aggregateId;
+        this.aggregateType = aggregateType;
+        this.eventType = eventType;
+        this.eventData = eventData;
+    }
+}
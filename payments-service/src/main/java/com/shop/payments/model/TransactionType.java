@@ -0,0 +1,6 @@
+package com.shop.payments.model;
+
+public enum TransactionType {
+    DEPOSIT,
+    DEBIT
+}
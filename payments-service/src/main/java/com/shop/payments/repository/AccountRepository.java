@@ -1,11 +1,32 @@
 package com.shop.payments.repository;
 
 import com.shop.payments.model.Account;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AccountRepository extends JpaRepository<Account, Long> {
+public interface AccountRepository extends JpaRepository<Account, Long>, AccountRepositoryCustom {
     Optional<Account> findByUserId(Long userId);
+
+    boolean existsByUserId(Long userId);
+
+    List<Account> findByUserIdIn(Collection<Long> userIds);
+
+    @Modifying
+    @Query(value = "UPDATE accounts SET balance = balance - :amount, updated_at = :updatedAt, version = version + 1 " +
+            "WHERE user_id = :userId AND balance >= :amount", nativeQuery = true)
+    int debit(@Param("userId") Long userId, @Param("amount") BigDecimal amount, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Account> findByUserIdInOrderByIdAsc(Collection<Long> userIds);
 } 
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.shop.payments.repository;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public interface AccountRepositoryCustom {
+    void updateBalances(Map<Long, BigDecimal> balancesByAccountId);
+}
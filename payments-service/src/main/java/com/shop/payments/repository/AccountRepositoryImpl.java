@@ -0,0 +1,30 @@
+package com.shop.payments.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Map;
+
+public class AccountRepositoryImpl implements AccountRepositoryCustom {
+
+    private static final String UPDATE_BALANCE_SQL =
+            "UPDATE accounts SET balance = ?, updated_at = ?, version = version + 1 WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void updateBalances(Map<Long, BigDecimal> balancesByAccountId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, new ArrayList<>(balancesByAccountId.entrySet()),
+                balancesByAccountId.size(), (ps, entry) -> {
+                    ps.setBigDecimal(1, entry.getValue());
+                    ps.setTimestamp(2, now);
+                    ps.setLong(3, entry.getKey());
+                });
+    }
+}
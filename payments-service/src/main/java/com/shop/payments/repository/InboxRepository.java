@@ -0,0 +1,19 @@
+package com.shop.payments.repository;
+
+import com.shop.payments.model.InboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+
+@Repository
+public interface InboxRepository extends JpaRepository<InboxMessage, Long>, InboxRepositoryCustom {
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM inbox WHERE id IN (SELECT id FROM inbox " +
+            "WHERE created_at < :cutoff ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,10 @@
+package com.shop.payments.repository;
+
+import com.shop.payments.model.InboxMessage;
+
+import java.util.List;
+import java.util.Set;
+
+public interface InboxRepositoryCustom {
+    Set<String> insertIfAbsent(List<InboxMessage> messages);
+}
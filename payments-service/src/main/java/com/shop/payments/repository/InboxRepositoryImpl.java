@@ -0,0 +1,60 @@
+package com.shop.payments.repository;
+
+import com.shop.payments.model.InboxMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class InboxRepositoryImpl implements InboxRepositoryCustom {
+
+    private static final String INSERT_IF_ABSENT_SQL =
+            "INSERT INTO inbox (message_id, aggregate_id, aggregate_type, event_type, event_data, created_at, processed) " +
+            "SELECT m.message_id, m.aggregate_id, m.aggregate_type, m.event_type, m.event_data, ?, true " +
+            "FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::bytea[]) " +
+            "AS m(message_id, aggregate_id, aggregate_type, event_type, event_data) " +
+            "ON CONFLICT (message_id) DO NOTHING " +
+            "RETURNING message_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Set<String> insertIfAbsent(List<InboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        int size = messages.size();
+        String[] messageIds = new String[size];
+        String[] aggregateIds = new String[size];
+        String[] aggregateTypes = new String[size];
+        String[] eventTypes = new String[size];
+        byte[][] eventData = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            InboxMessage message = messages.get(i);
+            messageIds[i] = message.getMessageId();
+            aggregateIds[i] = message.getAggregateId();
+            aggregateTypes[i] = message.getAggregateType();
+            eventTypes[i] = message.getEventType();
+            eventData[i] = message.getEventData();
+        }
+
+        List<String> inserted = jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_IF_ABSENT_SQL);
+            ps.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            ps.setArray(2, connection.createArrayOf("varchar", messageIds));
+            ps.setArray(3, connection.createArrayOf("varchar", aggregateIds));
+            ps.setArray(4, connection.createArrayOf("varchar", aggregateTypes));
+            ps.setArray(5, connection.createArrayOf("varchar", eventTypes));
+            ps.setArray(6, connection.createArrayOf("bytea", eventData));
+            return ps;
+        }, (rs, rowNum) -> rs.getString(1));
+        return new HashSet<>(inserted);
+    }
+}
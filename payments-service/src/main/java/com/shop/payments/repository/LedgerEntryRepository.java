@@ -0,0 +1,31 @@
+package com.shop.payments.repository;
+
+import com.shop.payments.model.LedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long>, LedgerEntryRepositoryCustom {
+
+    @Query(value = "SELECT a.balance + COALESCE((SELECT SUM(t.amount) FROM transactions t " +
+            "WHERE t.account_id = a.id AND t.applied = false), 0) " +
+            "FROM accounts a WHERE a.id = :accountId", nativeQuery = true)
+    BigDecimal currentBalance(@Param("accountId") Long accountId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "WITH folded AS (" +
+            "UPDATE transactions SET applied = true WHERE id IN (" +
+            "SELECT id FROM transactions WHERE applied = false ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "RETURNING account_id, amount) " +
+            "UPDATE accounts a SET balance = a.balance + f.delta, updated_at = now(), version = a.version + 1 " +
+            "FROM (SELECT account_id, SUM(amount) AS delta FROM folded GROUP BY account_id) f " +
+            "WHERE a.id = f.account_id", nativeQuery = true)
+    int foldIntoSnapshots(@Param("limit") int limit);
+}
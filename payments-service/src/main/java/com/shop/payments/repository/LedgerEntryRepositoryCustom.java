@@ -0,0 +1,14 @@
+package com.shop.payments.repository;
+
+import com.shop.payments.model.LedgerEntry;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface LedgerEntryRepositoryCustom {
+    Map<Long, BigDecimal> lockBalances(Collection<Long> accountIds);
+
+    void insertAll(List<LedgerEntry> entries);
+}
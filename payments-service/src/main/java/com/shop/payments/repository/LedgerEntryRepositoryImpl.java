@@ -0,0 +1,73 @@
+package com.shop.payments.repository;
+
+import com.shop.payments.model.LedgerEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class LedgerEntryRepositoryImpl implements LedgerEntryRepositoryCustom {
+
+    private static final String LOCK_ACCOUNTS_SQL =
+            "SELECT pg_advisory_xact_lock(s.id) FROM (SELECT id FROM unnest(?::bigint[]) AS t(id) ORDER BY id) s";
+
+    private static final String BALANCES_SQL =
+            "SELECT a.id, a.balance + COALESCE((SELECT SUM(t.amount) FROM transactions t " +
+            "WHERE t.account_id = a.id AND t.applied = false), 0) " +
+            "FROM accounts a WHERE a.id = ANY(?::bigint[])";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (account_id, amount, transaction_type, order_id, created_at, applied) " +
+            "VALUES (?, ?, ?, ?, ?, false)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<Long, BigDecimal> lockBalances(Collection<Long> accountIds) {
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        if (accountIds.isEmpty()) {
+            return balances;
+        }
+
+        Long[] ids = accountIds.toArray(new Long[0]);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(LOCK_ACCOUNTS_SQL);
+            ps.setArray(1, connection.createArrayOf("bigint", ids));
+            return ps;
+        }, (rs, rowNum) -> null);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(BALANCES_SQL);
+            ps.setArray(1, connection.createArrayOf("bigint", ids));
+            return ps;
+        }, (rs, rowNum) -> balances.put(rs.getLong(1), rs.getBigDecimal(2)));
+        return balances;
+    }
+
+    @Override
+    public void insertAll(List<LedgerEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getAccountId());
+            ps.setBigDecimal(2, entry.getAmount());
+            ps.setString(3, entry.getTransactionType().name());
+            if (entry.getOrderId() != null) {
+                ps.setLong(4, entry.getOrderId());
+            } else {
+                ps.setNull(4, Types.BIGINT);
+            }
+            ps.setTimestamp(5, now);
+        });
+    }
+}
@@ -0,0 +1,6 @@
+package com.shop.payments.repository;
+
+public interface OutboxBacklog {
+    Long getSize();
+    Double getOldestAgeSeconds();
+}
@@ -0,0 +1,9 @@
+package com.shop.payments.repository;
+
+import com.shop.payments.model.OutboxEvent;
+
+import java.util.List;
+
+public interface OutboxRepositoryCustom {
+    void insertAll(List<OutboxEvent> events);
+}
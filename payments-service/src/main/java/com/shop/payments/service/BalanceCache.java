@@ -0,0 +1,105 @@
+package com.shop.payments.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.payments.config.KafkaConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class BalanceCache {
+
+    @Autowired
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${payments.balance-cache.maximum-size:100000}")
+    private long maximumSize;
+
+    @Value("${payments.balance-cache.ttl:30s}")
+    private Duration ttl;
+
+    @Value("${payments.balance-cache.broadcast-invalidations:false}")
+    private boolean broadcastInvalidations;
+
+    private Cache<Long, BigDecimal> balances;
+
+    @PostConstruct
+    public void init() {
+        balances = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, balances, "balances");
+    }
+
+    public BigDecimal get(Long userId, Function<Long, BigDecimal> loader) {
+        return balances.get(userId, loader);
+    }
+
+    public void invalidateAfterCommit(Long userId) {
+        invalidateAfterCommit(List.of(userId));
+    }
+
+    public void invalidateAfterCommit(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(userIds);
+            }
+        });
+    }
+
+    @KafkaListener(topics = KafkaConfig.BALANCE_INVALIDATION_TOPIC,
+            groupId = "payments-balance-cache-${random.uuid}",
+            autoStartup = "${payments.balance-cache.broadcast-invalidations:false}",
+            properties = "auto.offset.reset=latest")
+    public void handleInvalidation(byte[] userId) {
+        try {
+            balances.invalidate(Long.valueOf(new String(userId, StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            log.error("Failed to process balance invalidation", e);
+        }
+    }
+
+    private void invalidate(Collection<Long> userIds) {
+        balances.invalidateAll(userIds);
+        if (!broadcastInvalidations) {
+            return;
+        }
+        for (Long userId : userIds) {
+            try {
+                kafkaTemplate.send(KafkaConfig.BALANCE_INVALIDATION_TOPIC, userId.toString(), userId.toString().getBytes(StandardCharsets.UTF_8));
+            } catch (Exception e) {
+                log.error("Failed to broadcast balance invalidation for user {}", userId, e);
+            }
+        }
+    }
+}
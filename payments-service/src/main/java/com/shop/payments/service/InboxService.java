@@ -0,0 +1,124 @@
+package com.shop.payments.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.payments.config.KafkaConfig;
+import com.shop.payments.model.InboxMessage;
+import com.shop.payments.repository.InboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Service
+public class InboxService {
+
+    @Autowired
+    private InboxRepository inboxRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${payments.inbox.cache-size:100000}")
+    private long cacheSize;
+
+    @Value("${payments.inbox.retention:8d}")
+    private Duration retention;
+
+    @Value("${payments.inbox.purge-batch-size:5000}")
+    private int purgeBatchSize;
+
+    private Cache<String, Boolean> processedMessages;
+
+    private Counter purged;
+
+    @PostConstruct
+    public void init() {
+        processedMessages = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+        purged = Counter.builder("retention.purged.rows")
+                .description("Rows deleted by the retention purger")
+                .tag("table", "inbox")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${payments.inbox.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        try {
+            int deleted;
+            do {
+                deleted = inboxRepository.deleteCreatedBefore(cutoff, purgeBatchSize);
+                purged.increment(deleted);
+            } while (deleted == purgeBatchSize);
+        } catch (Exception e) {
+            log.warn("Failed to purge expired inbox messages", e);
+        }
+    }
+
+    public String messageId(ConsumerRecord<?, ?> record) {
+        Header eventId = record.headers().lastHeader(KafkaConfig.EVENT_ID_HEADER);
+        if (eventId != null) {
+            return record.topic() + ":" + new String(eventId.value(), StandardCharsets.UTF_8);
+        }
+        return record.topic() + "-" + record.partition() + "@" + record.offset();
+    }
+
+    public boolean isKnownDuplicate(String messageId) {
+        return processedMessages.getIfPresent(messageId) != null;
+    }
+
+    public Set<String> register(List<InboxMessage> messages) {
+        Set<String> inserted = inboxRepository.insertIfAbsent(messages);
+
+        List<String> duplicates = new ArrayList<>();
+        for (InboxMessage message : messages) {
+            if (!inserted.contains(message.getMessageId())) {
+                duplicates.add(message.getMessageId());
+            }
+        }
+        remember(duplicates);
+        rememberAfterCommit(inserted);
+        return inserted;
+    }
+
+    private void remember(Collection<String> messageIds) {
+        for (String messageId : messageIds) {
+            processedMessages.put(messageId, Boolean.TRUE);
+        }
+    }
+
+    private void rememberAfterCommit(Collection<String> messageIds) {
+        if (messageIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remember(messageIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(messageIds);
+            }
+        });
+    }
+}
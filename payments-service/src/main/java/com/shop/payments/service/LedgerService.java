@@ -0,0 +1,71 @@
+package com.shop.payments.service;
+
+import com.shop.payments.model.Account;
+import com.shop.payments.model.LedgerEntry;
+import com.shop.payments.model.TransactionType;
+import com.shop.payments.repository.LedgerEntryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class LedgerService {
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Value("${payments.ledger.enabled:false}")
+    private boolean enabled;
+
+    @Value("${payments.ledger.snapshot-batch-size:10000}")
+    private int snapshotBatchSize;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public BigDecimal balance(Account account) {
+        return ledgerEntryRepository.currentBalance(account.getId());
+    }
+
+    public void deposit(Account account, BigDecimal amount) {
+        ledgerEntryRepository.save(new LedgerEntry(account.getId(), amount, TransactionType.DEPOSIT, null));
+    }
+
+    public boolean debit(Account account, Long orderId, BigDecimal amount) {
+        BigDecimal balance = lockBalances(List.of(account.getId())).get(account.getId());
+        if (balance == null || balance.compareTo(amount) < 0) {
+            return false;
+        }
+        ledgerEntryRepository.save(new LedgerEntry(account.getId(), amount.negate(), TransactionType.DEBIT, orderId));
+        return true;
+    }
+
+    public Map<Long, BigDecimal> lockBalances(Collection<Long> accountIds) {
+        return ledgerEntryRepository.lockBalances(accountIds);
+    }
+
+    public void appendAll(List<LedgerEntry> entries) {
+        ledgerEntryRepository.insertAll(entries);
+    }
+
+    @Scheduled(fixedDelayString = "${payments.ledger.snapshot-interval-ms:1000}")
+    public void snapshotBalances() {
+        try {
+            int folded;
+            do {
+                folded = ledgerEntryRepository.foldIntoSnapshots(snapshotBatchSize);
+            } while (folded > 0);
+        } catch (Exception e) {
+            log.error("Failed to snapshot ledger balances", e);
+        }
+    }
+}
@@ -3,15 +3,29 @@ package com.shop.payments.service;
 import com.shop.payments.config.KafkaConfig;
 import com.shop.payments.model.OutboxEvent;
 import com.shop.payments.repository.OutboxRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.PostConstruct;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import lombok.extern.slf4j.Slf4j;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Component
 public class OutboxEventPublisher {
 
@@ -19,26 +33,102 @@ public class OutboxEventPublisher {
     private OutboxRepository outboxRepository;
 
     @Autowired
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${outbox.relay.lease-ms:30000}")
+    private long leaseMs;
+
+    @Value("${outbox.relay.instance-id:${random.uuid}}")
+    private String instanceId;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private OutboxTracing outboxTracing;
 
-    @Scheduled(fixedRate = 5000)
-    @Transactional
+    private Timer publishLatency;
+
+    @PostConstruct
+    public void init() {
+        publishLatency = Timer.builder("outbox.publish.latency")
+                .description("Time from outbox insert to Kafka acknowledgement")
+                .tag("topic", KafkaConfig.PAYMENT_STATUS_TOPIC)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:5000}")
     public void publishOutboxEvents() {
-        List<OutboxEvent> events = outboxRepository.findByProcessedFalseOrderByCreatedAtAsc();
+        while (true) {
+            List<OutboxEvent> batch = outboxRepository.claimBatch(instanceId, leaseMs, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            int acknowledged = publishBatch(batch);
+
+            if (acknowledged < batch.size() || batch.size() < batchSize) {
+                break;
+            }
+        }
+    }
 
-        for (OutboxEvent event : events) {
+    private int publishBatch(List<OutboxEvent> batch) {
+        List<CompletableFuture<SendResult<String, byte[]>>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            sends.add(send(event));
+        }
+
+        List<Long> acknowledged = new ArrayList<>(batch.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
             try {
-                String topic = KafkaConfig.PAYMENT_STATUS_TOPIC;
-                
-                kafkaTemplate.send(topic, event.getEventData());
-                event.setProcessed(true);
-                outboxRepository.save(event);
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                acknowledged.add(event.getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
             } catch (Exception e) {
-                System.err.println("Failed to publish outbox event: " + event.getId() + ", Error: " + e.getMessage());
+                log.error("Failed to publish outbox event: {}", event.getId(), e);
             }
         }
+
+        if (!acknowledged.isEmpty()) {
+            outboxRepository.markAsProcessed(acknowledged);
+        }
+        return acknowledged.size();
+    }
+
+    private CompletableFuture<SendResult<String, byte[]>> send(OutboxEvent event) {
+        LocalDateTime createdAt = event.getCreatedAt();
+        Span relaySpan = outboxTracing.startRelaySpan(event, KafkaConfig.PAYMENT_STATUS_TOPIC);
+        try (Tracer.SpanInScope scope = outboxTracing.withSpan(relaySpan)) {
+            return kafkaTemplate.send(toRecord(event))
+                    .whenComplete((result, ex) -> {
+                        if (ex == null) {
+                            publishLatency.record(Duration.between(createdAt, LocalDateTime.now()));
+                        }
+                        outboxTracing.end(relaySpan, ex);
+                    });
+        } catch (Exception e) {
+            outboxTracing.end(relaySpan, e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private ProducerRecord<String, byte[]> toRecord(OutboxEvent event) {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(
+                KafkaConfig.PAYMENT_STATUS_TOPIC, event.getMessageKey(), event.getEventData());
+        record.headers().add(KafkaConfig.EVENT_ID_HEADER, event.getId().toString().getBytes(StandardCharsets.UTF_8));
+        return record;
     }
-} 
\ No newline at end of file
+}
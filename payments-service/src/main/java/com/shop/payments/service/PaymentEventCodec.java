@@ -0,0 +1,179 @@
+package com.shop.payments.service;
+
+import com.shop.payments.dto.PaymentRequestEvent;
+import com.shop.payments.dto.PaymentStatusEvent;
+import com.shop.payments.model.OrderStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+@Component
+public class PaymentEventCodec {
+
+    public enum Format {
+        JSON,
+        BINARY
+    }
+
+    private static final byte BINARY_VERSION = 1;
+
+    private static final byte PAYMENT_REQUEST = 1;
+    private static final byte PAYMENT_STATUS = 2;
+
+    private static final int HAS_ORDER_ID = 1;
+    private static final int HAS_MESSAGE = 2;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${events.format:json}")
+    private Format format;
+
+    public PaymentEventCodec() {
+    }
+
+    public PaymentEventCodec(ObjectMapper objectMapper, Format format) {
+        this.objectMapper = objectMapper;
+        this.format = format;
+    }
+
+    public byte[] encode(PaymentRequestEvent event) {
+        if (format == Format.JSON) {
+            return writeJson(event);
+        }
+        int scale = event.getAmount().scale();
+        if (scale < Byte.MIN_VALUE || scale > Byte.MAX_VALUE) {
+            throw new RuntimeException("Payment amount scale is out of range: " + scale);
+        }
+        byte[] unscaled = event.getAmount().unscaledValue().toByteArray();
+        return ByteBuffer.allocate(19 + unscaled.length)
+                .put(BINARY_VERSION)
+                .put(PAYMENT_REQUEST)
+                .putLong(event.getOrderId())
+                .putLong(event.getUserId())
+                .put((byte) scale)
+                .put(unscaled)
+                .array();
+    }
+
+    public byte[] encode(PaymentStatusEvent event) {
+        if (format == Format.JSON) {
+            return writeJson(event);
+        }
+        byte[] message = event.getMessage() != null ? event.getMessage().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (message.length > 0xFFFF) {
+            throw new RuntimeException("Payment status message is too long: " + message.length + " bytes");
+        }
+        int flags = (event.getOrderId() != null ? HAS_ORDER_ID : 0) | (event.getMessage() != null ? HAS_MESSAGE : 0);
+        return ByteBuffer.allocate(14 + message.length)
+                .put(BINARY_VERSION)
+                .put(PAYMENT_STATUS)
+                .putLong(event.getOrderId() != null ? event.getOrderId() : 0L)
+                .put((byte) flags)
+                .put(statusCode(event.getStatus()))
+                .putShort((short) message.length)
+                .put(message)
+                .array();
+    }
+
+    public PaymentRequestEvent decodeRequest(byte[] data) {
+        if (isJson(data)) {
+            return readJson(data, PaymentRequestEvent.class);
+        }
+        try {
+            ByteBuffer buffer = binary(data, PAYMENT_REQUEST);
+            long orderId = buffer.getLong();
+            long userId = buffer.getLong();
+            int scale = buffer.get();
+            byte[] unscaled = new byte[buffer.remaining()];
+            buffer.get(unscaled);
+            return new PaymentRequestEvent(orderId, userId, new BigDecimal(new BigInteger(unscaled), scale));
+        } catch (BufferUnderflowException | NumberFormatException e) {
+            throw new RuntimeException("Malformed payment request event", e);
+        }
+    }
+
+    public PaymentStatusEvent decodeStatus(byte[] data) {
+        if (isJson(data)) {
+            return readJson(data, PaymentStatusEvent.class);
+        }
+        try {
+            ByteBuffer buffer = binary(data, PAYMENT_STATUS);
+            long orderId = buffer.getLong();
+            int flags = buffer.get();
+            OrderStatus status = status(buffer.get());
+            byte[] message = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(message);
+            return new PaymentStatusEvent(
+                    (flags & HAS_ORDER_ID) != 0 ? orderId : null,
+                    status,
+                    (flags & HAS_MESSAGE) != 0 ? new String(message, StandardCharsets.UTF_8) : null);
+        } catch (BufferUnderflowException e) {
+            throw new RuntimeException("Malformed payment status event", e);
+        }
+    }
+
+    private boolean isJson(byte[] data) {
+        return data.length > 0 && data[0] == '{';
+    }
+
+    private ByteBuffer binary(byte[] data, byte expectedType) {
+        if (data.length < 2 || data[0] != BINARY_VERSION) {
+            throw new RuntimeException("Unsupported event encoding version: " + (data.length > 0 ? data[0] : "empty"));
+        }
+        if (data[1] != expectedType) {
+            throw new RuntimeException("Unexpected event type " + data[1] + ", expected " + expectedType);
+        }
+        return ByteBuffer.wrap(data, 2, data.length - 2);
+    }
+
+    private byte statusCode(OrderStatus status) {
+        switch (status) {
+            case NEW:
+                return 0;
+            case FINISHED:
+                return 1;
+            case CANCELLED:
+                return 2;
+            default:
+                throw new RuntimeException("Unknown order status: " + status);
+        }
+    }
+
+    private OrderStatus status(byte code) {
+        switch (code) {
+            case 0:
+                return OrderStatus.NEW;
+            case 1:
+                return OrderStatus.FINISHED;
+            case 2:
+                return OrderStatus.CANCELLED;
+            default:
+                throw new RuntimeException("Unknown order status code: " + code);
+        }
+    }
+
+    private byte[] writeJson(Object event) {
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode " + event.getClass().getSimpleName(), e);
+        }
+    }
+
+    private <T> T readJson(byte[] data, Class<T> type) {
+        try {
+            return objectMapper.readValue(data, type);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to decode " + type.getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.shop.payments.service;
+
+import com.shop.payments.dto.PaymentStatusEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+@Component
+public class PaymentMetrics {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public void recordOutcome(PaymentStatusEvent event) {
+        meterRegistry.counter("payments.debits",
+                "status", String.valueOf(event.getStatus()),
+                "reason", reason(event.getMessage())).increment();
+    }
+
+    public void recordOptimisticLockConflict(String source) {
+        meterRegistry.counter("payments.optimistic.lock.conflicts", "source", source).increment();
+    }
+
+    public static boolean isOptimisticLockFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockingFailureException || cause instanceof OptimisticLockException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String reason(String message) {
+        if (message == null) {
+            return "unknown";
+        }
+        return message.toLowerCase(Locale.ROOT).replaceAll("[^a-z]+", "_").replaceAll("^_|_$", "");
+    }
+}
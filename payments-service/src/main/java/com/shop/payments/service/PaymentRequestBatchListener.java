@@ -0,0 +1,181 @@
+package com.shop.payments.service;
+
+import com.shop.payments.config.KafkaConfig;
+import com.shop.payments.dto.PaymentRequestEvent;
+import com.shop.payments.dto.PaymentStatusEvent;
+import com.shop.payments.model.Account;
+import com.shop.payments.model.InboxMessage;
+import com.shop.payments.model.LedgerEntry;
+import com.shop.payments.model.OrderStatus;
+import com.shop.payments.model.OutboxEvent;
+import com.shop.payments.model.TransactionType;
+import com.shop.payments.repository.AccountRepository;
+import com.shop.payments.repository.OutboxRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "payments.listener.batch-enabled", havingValue = "true")
+public class PaymentRequestBatchListener {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private InboxService inboxService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private BalanceCache balanceCache;
+
+    @Autowired
+    private PaymentMetrics paymentMetrics;
+
+    @Autowired
+    private OutboxTracing outboxTracing;
+
+    @Autowired
+    private PaymentEventCodec paymentEventCodec;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer recordAge;
+
+    @PostConstruct
+    public void init() {
+        recordAge = Timer.builder("kafka.record.age")
+                .description("Time from producing a record to handling it")
+                .tag("topic", KafkaConfig.PAYMENT_REQUEST_TOPIC)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(topics = KafkaConfig.PAYMENT_REQUEST_TOPIC, groupId = "payments-group",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            concurrency = "${kafka.listener.concurrency:6}")
+    @Transactional
+    public void handlePaymentRequests(List<ConsumerRecord<String, byte[]>> records) {
+        Map<String, PaymentRequestEvent> requestsByMessageId = new LinkedHashMap<>();
+        List<InboxMessage> inboxMessages = new ArrayList<>(records.size());
+        List<PaymentStatusEvent> statusEvents = new ArrayList<>(records.size());
+        Map<Long, String> traceParentByOrderId = new HashMap<>();
+
+        for (ConsumerRecord<String, byte[]> record : records) {
+            recordAge.record(Math.max(0, System.currentTimeMillis() - record.timestamp()), TimeUnit.MILLISECONDS);
+            String messageId = inboxService.messageId(record);
+            if (inboxService.isKnownDuplicate(messageId) || requestsByMessageId.containsKey(messageId)) {
+                continue;
+            }
+            try {
+                PaymentRequestEvent request = paymentEventCodec.decodeRequest(record.value());
+                requestsByMessageId.put(messageId, request);
+                traceParentByOrderId.put(request.getOrderId(), outboxTracing.traceParent(record));
+                inboxMessages.add(new InboxMessage(
+                        messageId, String.valueOf(request.getOrderId()), "Order", "ORDER_CREATED", record.value()));
+            } catch (Exception e) {
+                log.error("Failed to process payment request", e);
+                statusEvents.add(new PaymentStatusEvent(null, OrderStatus.CANCELLED, "Internal payment processing error."));
+            }
+        }
+
+        Set<String> newMessageIds = inboxService.register(inboxMessages);
+        List<PaymentRequestEvent> requests = new ArrayList<>(newMessageIds.size());
+        Set<Long> userIds = new HashSet<>();
+        requestsByMessageId.forEach((messageId, request) -> {
+            if (newMessageIds.contains(messageId)) {
+                requests.add(request);
+                userIds.add(request.getUserId());
+            }
+        });
+
+        boolean ledger = ledgerService.isEnabled();
+        Map<Long, Account> accountsByUserId = new HashMap<>();
+        Map<Long, BigDecimal> balancesByAccountId = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            List<Account> accounts = ledger
+                    ? accountRepository.findByUserIdIn(userIds)
+                    : accountRepository.findByUserIdInOrderByIdAsc(userIds);
+            for (Account account : accounts) {
+                accountsByUserId.put(account.getUserId(), account);
+                balancesByAccountId.put(account.getId(), account.getBalance());
+            }
+            if (ledger) {
+                balancesByAccountId.putAll(ledgerService.lockBalances(new ArrayList<>(balancesByAccountId.keySet())));
+            }
+        }
+
+        Map<Long, BigDecimal> changedBalances = new LinkedHashMap<>();
+        List<LedgerEntry> debits = new ArrayList<>();
+        Set<Long> debitedUserIds = new HashSet<>();
+        for (PaymentRequestEvent request : requests) {
+            Account account = accountsByUserId.get(request.getUserId());
+            PaymentStatusEvent statusEvent = settle(request, account, balancesByAccountId);
+            statusEvents.add(statusEvent);
+            if (statusEvent.getStatus() == OrderStatus.FINISHED) {
+                changedBalances.put(account.getId(), balancesByAccountId.get(account.getId()));
+                debits.add(new LedgerEntry(account.getId(), request.getAmount().negate(), TransactionType.DEBIT, request.getOrderId()));
+                debitedUserIds.add(account.getUserId());
+            }
+        }
+
+        List<OutboxEvent> outboxEvents = new ArrayList<>(statusEvents.size());
+        for (PaymentStatusEvent statusEvent : statusEvents) {
+            paymentMetrics.recordOutcome(statusEvent);
+            OutboxEvent outboxEvent = new OutboxEvent(
+                    String.valueOf(statusEvent.getOrderId()),
+                    "Payment",
+                    "PAYMENT_STATUS_UPDATE",
+                    String.valueOf(statusEvent.getOrderId()),
+                    paymentEventCodec.encode(statusEvent)
+            );
+            outboxEvent.setTraceParent(traceParentByOrderId.get(statusEvent.getOrderId()));
+            outboxEvents.add(outboxEvent);
+        }
+
+        if (ledger) {
+            ledgerService.appendAll(debits);
+        } else if (!changedBalances.isEmpty()) {
+            accountRepository.updateBalances(changedBalances);
+        }
+        outboxRepository.insertAll(outboxEvents);
+        balanceCache.invalidateAfterCommit(debitedUserIds);
+    }
+
+    static PaymentStatusEvent settle(PaymentRequestEvent request, Account account, Map<Long, BigDecimal> balancesByAccountId) {
+        if (account == null) {
+            return new PaymentStatusEvent(request.getOrderId(), OrderStatus.CANCELLED, "Account not found.");
+        }
+
+        BigDecimal balance = balancesByAccountId.get(account.getId());
+        if (balance.compareTo(request.getAmount()) < 0) {
+            return new PaymentStatusEvent(request.getOrderId(), OrderStatus.CANCELLED, "Insufficient funds.");
+        }
+        balancesByAccountId.put(account.getId(), balance.subtract(request.getAmount()));
+        return new PaymentStatusEvent(request.getOrderId(), OrderStatus.FINISHED, "Payment successful.");
+    }
+}
@@ -3,71 +3,102 @@ package com.shop.payments.service;
 import com.shop.payments.config.KafkaConfig;
 import com.shop.payments.dto.PaymentRequestEvent;
 import com.shop.payments.dto.PaymentStatusEvent;
-import com.shop.payments.model.Account;
+import com.shop.payments.model.InboxMessage;
 import com.shop.payments.model.OrderStatus;
 import com.shop.payments.model.OutboxEvent;
-import com.shop.payments.repository.AccountRepository;
 import com.shop.payments.repository.OutboxRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 
-import java.math.BigDecimal;
-import java.util.Optional;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Component
+@ConditionalOnProperty(name = "payments.listener.batch-enabled", havingValue = "false", matchIfMissing = true)
 public class PaymentRequestListener {
 
     @Autowired
-    private AccountRepository accountRepository;
+    private PaymentService paymentService;
 
     @Autowired
     private OutboxRepository outboxRepository;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private InboxService inboxService;
 
-    @KafkaListener(topics = KafkaConfig.PAYMENT_REQUEST_TOPIC, groupId = "payments-group")
+    @Autowired
+    private PaymentMetrics paymentMetrics;
+
+    @Autowired
+    private OutboxTracing outboxTracing;
+
+    @Autowired
+    private PaymentEventCodec paymentEventCodec;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer recordAge;
+
+    @PostConstruct
+    public void init() {
+        recordAge = Timer.builder("kafka.record.age")
+                .description("Time from producing a record to handling it")
+                .tag("topic", KafkaConfig.PAYMENT_REQUEST_TOPIC)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(topics = KafkaConfig.PAYMENT_REQUEST_TOPIC, groupId = "payments-group",
+            concurrency = "${kafka.listener.concurrency:6}")
     @Transactional
-    public void handlePaymentRequest(String message) {
+    public void handlePaymentRequest(ConsumerRecord<String, byte[]> record) {
+        recordAge.record(Math.max(0, System.currentTimeMillis() - record.timestamp()), TimeUnit.MILLISECONDS);
+        String messageId = inboxService.messageId(record);
+        if (inboxService.isKnownDuplicate(messageId)) {
+            return;
+        }
+
         PaymentStatusEvent paymentStatusEvent = null;
         try {
-            PaymentRequestEvent request = objectMapper.readValue(message, PaymentRequestEvent.class);
-
-            Optional<Account> accountOptional = accountRepository.findByUserId(request.getUserId());
-
-            if (accountOptional.isEmpty()) {
-                paymentStatusEvent = new PaymentStatusEvent(request.getOrderId(), OrderStatus.CANCELLED, "Account not found.");
-            } else {
-                Account account = accountOptional.get();
-                if (account.getBalance().compareTo(request.getAmount()) < 0) {
-                    paymentStatusEvent = new PaymentStatusEvent(request.getOrderId(), OrderStatus.CANCELLED, "Insufficient funds.");
-                } else {
-                    account.setBalance(account.getBalance().subtract(request.getAmount()));
-                    accountRepository.save(account);
-                    paymentStatusEvent = new PaymentStatusEvent(request.getOrderId(), OrderStatus.FINISHED, "Payment successful.");
-                }
+            PaymentRequestEvent request = paymentEventCodec.decodeRequest(record.value());
+            InboxMessage inboxMessage = new InboxMessage(
+                    messageId, String.valueOf(request.getOrderId()), "Order", "ORDER_CREATED", record.value());
+            if (inboxService.register(List.of(inboxMessage)).isEmpty()) {
+                return;
             }
+
+            paymentStatusEvent = paymentService.processPayment(request);
         } catch (Exception e) {
-            System.err.println("Failed to process payment request: " + e.getMessage());
+            log.error("Failed to process payment request", e);
             if (paymentStatusEvent == null) {
                 paymentStatusEvent = new PaymentStatusEvent(null, OrderStatus.CANCELLED, "Internal payment processing error.");
             }
         } finally {
             if (paymentStatusEvent != null) {
+                paymentMetrics.recordOutcome(paymentStatusEvent);
                 try {
-                    String eventData = objectMapper.writeValueAsString(paymentStatusEvent);
+                    byte[] eventData = paymentEventCodec.encode(paymentStatusEvent);
                     OutboxEvent outboxEvent = new OutboxEvent(
                             String.valueOf(paymentStatusEvent.getOrderId()),
                             "Payment",
                             "PAYMENT_STATUS_UPDATE",
+                            String.valueOf(paymentStatusEvent.getOrderId()),
                             eventData
                     );
+                    outboxEvent.setTraceParent(outboxTracing.traceParent(record));
                     outboxRepository.save(outboxEvent);
                 } catch (Exception e) {
-                    System.err.println("Failed to create outbox event for payment status: " + e.getMessage());
+                    log.error("Failed to create outbox event for payment status", e);
                 }
             }
         }
@@ -2,12 +2,17 @@ package com.shop.payments.service;
 
 import com.shop.payments.dto.AccountResponse;
 import com.shop.payments.dto.BalanceResponse;
+import com.shop.payments.dto.PaymentRequestEvent;
+import com.shop.payments.dto.PaymentStatusEvent;
 import com.shop.payments.model.Account;
+import com.shop.payments.model.OrderStatus;
 import com.shop.payments.repository.AccountRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 @Service
 public class PaymentService {
@@ -15,6 +20,12 @@ public class PaymentService {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private BalanceCache balanceCache;
+
     @Transactional
     public AccountResponse createAccount(Long userId) {
         if (accountRepository.findByUserId(userId).isPresent()) {
@@ -32,6 +43,12 @@ public class PaymentService {
         Account account = accountRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("Account not found for user: " + userId));
         
+        balanceCache.invalidateAfterCommit(userId);
+        if (ledgerService.isEnabled()) {
+            ledgerService.deposit(account, amount);
+            return new BalanceResponse(userId, ledgerService.balance(account));
+        }
+
         account.setBalance(account.getBalance().add(amount));
         account = accountRepository.save(account);
         
@@ -39,10 +56,40 @@ public class PaymentService {
     }
 
     public BalanceResponse getBalance(Long userId) {
+        return new BalanceResponse(userId, balanceCache.get(userId, this::loadBalance));
+    }
+
+    @Transactional
+    public PaymentStatusEvent processPayment(PaymentRequestEvent request) {
+        if (ledgerService.isEnabled()) {
+            Optional<Account> account = accountRepository.findByUserId(request.getUserId());
+            if (account.isEmpty()) {
+                return new PaymentStatusEvent(request.getOrderId(), OrderStatus.CANCELLED, "Account not found.");
+            }
+            if (!ledgerService.debit(account.get(), request.getOrderId(), request.getAmount())) {
+                return new PaymentStatusEvent(request.getOrderId(), OrderStatus.CANCELLED, "Insufficient funds.");
+            }
+            balanceCache.invalidateAfterCommit(request.getUserId());
+            return new PaymentStatusEvent(request.getOrderId(), OrderStatus.FINISHED, "Payment successful.");
+        }
+
+        if (accountRepository.debit(request.getUserId(), request.getAmount(), LocalDateTime.now()) == 1) {
+            balanceCache.invalidateAfterCommit(request.getUserId());
+            return new PaymentStatusEvent(request.getOrderId(), OrderStatus.FINISHED, "Payment successful.");
+        } else if (accountRepository.existsByUserId(request.getUserId())) {
+            return new PaymentStatusEvent(request.getOrderId(), OrderStatus.CANCELLED, "Insufficient funds.");
+        }
+        return new PaymentStatusEvent(request.getOrderId(), OrderStatus.CANCELLED, "Account not found.");
+    }
+
+    private BigDecimal loadBalance(Long userId) {
         Account account = accountRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("Account not found for user: " + userId));
-        
-        return new BalanceResponse(userId, account.getBalance());
+
+        if (ledgerService.isEnabled()) {
+            return ledgerService.balance(account);
+        }
+        return account.getBalance();
     }
 
     private AccountResponse convertToResponse(Account account) {
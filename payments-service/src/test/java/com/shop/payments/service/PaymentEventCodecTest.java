@@ -0,0 +1,138 @@
+package com.shop.payments.service;
+
+import com.shop.payments.dto.PaymentRequestEvent;
+import com.shop.payments.dto.PaymentStatusEvent;
+import com.shop.payments.model.OrderStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PaymentEventCodecTest {
+
+    private static final String LONG_MESSAGE = "x".repeat(0x10000);
+
+    private PaymentEventCodec codec(PaymentEventCodec.Format format) {
+        return new PaymentEventCodec(new ObjectMapper(), format);
+    }
+
+    @ParameterizedTest
+    @EnumSource(PaymentEventCodec.Format.class)
+    void roundTripsPaymentRequest(PaymentEventCodec.Format format) {
+        PaymentEventCodec codec = codec(format);
+        for (String amount : new String[]{"10.00", "0.01", "123456789.99", "1E+3", "-5.5"}) {
+            PaymentRequestEvent decoded = codec.decodeRequest(codec.encode(new PaymentRequestEvent(42L, 7L, new BigDecimal(amount))));
+
+            assertEquals(42L, decoded.getOrderId());
+            assertEquals(7L, decoded.getUserId());
+            assertEquals(new BigDecimal(amount), decoded.getAmount());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(PaymentEventCodec.Format.class)
+    void roundTripsPaymentStatus(PaymentEventCodec.Format format) {
+        PaymentEventCodec codec = codec(format);
+        for (OrderStatus status : OrderStatus.values()) {
+            PaymentStatusEvent decoded = codec.decodeStatus(codec.encode(new PaymentStatusEvent(42L, status, "Оплата прошла")));
+
+            assertEquals(42L, decoded.getOrderId());
+            assertEquals(status, decoded.getStatus());
+            assertEquals("Оплата прошла", decoded.getMessage());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(PaymentEventCodec.Format.class)
+    void roundTripsPaymentStatusWithoutOrderIdAndMessage(PaymentEventCodec.Format format) {
+        PaymentEventCodec codec = codec(format);
+
+        PaymentStatusEvent decoded = codec.decodeStatus(codec.encode(new PaymentStatusEvent(null, OrderStatus.CANCELLED, null)));
+
+        assertNull(decoded.getOrderId());
+        assertEquals(OrderStatus.CANCELLED, decoded.getStatus());
+        assertNull(decoded.getMessage());
+    }
+
+    @ParameterizedTest
+    @EnumSource(PaymentEventCodec.Format.class)
+    void roundTripsEmptyMessage(PaymentEventCodec.Format format) {
+        PaymentEventCodec codec = codec(format);
+
+        PaymentStatusEvent decoded = codec.decodeStatus(codec.encode(new PaymentStatusEvent(42L, OrderStatus.FINISHED, "")));
+
+        assertEquals("", decoded.getMessage());
+    }
+
+    @Test
+    void binaryRejectsMessageLongerThan64Kb() {
+        PaymentEventCodec codec = codec(PaymentEventCodec.Format.BINARY);
+
+        assertThrows(RuntimeException.class,
+                () -> codec.encode(new PaymentStatusEvent(42L, OrderStatus.CANCELLED, LONG_MESSAGE)));
+    }
+
+    @Test
+    void binaryKeepsMessageOfExactly64KbMinusOne() {
+        PaymentEventCodec codec = codec(PaymentEventCodec.Format.BINARY);
+        String message = LONG_MESSAGE.substring(1);
+
+        PaymentStatusEvent decoded = codec.decodeStatus(codec.encode(new PaymentStatusEvent(42L, OrderStatus.CANCELLED, message)));
+
+        assertEquals(message, decoded.getMessage());
+    }
+
+    @Test
+    void jsonKeepsMessageLongerThan64Kb() {
+        PaymentEventCodec codec = codec(PaymentEventCodec.Format.JSON);
+
+        PaymentStatusEvent decoded = codec.decodeStatus(codec.encode(new PaymentStatusEvent(42L, OrderStatus.CANCELLED, LONG_MESSAGE)));
+
+        assertEquals(LONG_MESSAGE, decoded.getMessage());
+    }
+
+    @Test
+    void binaryRejectsAmountScaleOutsideOneByte() {
+        PaymentEventCodec codec = codec(PaymentEventCodec.Format.BINARY);
+
+        assertThrows(RuntimeException.class,
+                () -> codec.encode(new PaymentRequestEvent(42L, 7L, new BigDecimal(BigInteger.ONE, 128))));
+        assertThrows(RuntimeException.class,
+                () -> codec.encode(new PaymentRequestEvent(42L, 7L, new BigDecimal(BigInteger.ONE, -129))));
+    }
+
+    @Test
+    void binaryKeepsAmountScaleAtOneByteBounds() {
+        PaymentEventCodec codec = codec(PaymentEventCodec.Format.BINARY);
+        for (int scale : new int[]{Byte.MIN_VALUE, Byte.MAX_VALUE}) {
+            BigDecimal amount = new BigDecimal(BigInteger.valueOf(12345), scale);
+
+            assertEquals(amount, codec.decodeRequest(codec.encode(new PaymentRequestEvent(42L, 7L, amount))).getAmount());
+        }
+    }
+
+    @Test
+    void binaryRejectsUnknownStatusCode() {
+        PaymentEventCodec codec = codec(PaymentEventCodec.Format.BINARY);
+        byte[] data = codec.encode(new PaymentStatusEvent(42L, OrderStatus.NEW, null));
+        data[11] = 3;
+
+        assertThrows(RuntimeException.class, () -> codec.decodeStatus(data));
+    }
+
+    @Test
+    void binaryRejectsTruncatedStatus() {
+        PaymentEventCodec codec = codec(PaymentEventCodec.Format.BINARY);
+        byte[] data = codec.encode(new PaymentStatusEvent(42L, OrderStatus.FINISHED, "ok"));
+
+        assertThrows(RuntimeException.class, () -> codec.decodeStatus(Arrays.copyOf(data, data.length - 1)));
+    }
+}